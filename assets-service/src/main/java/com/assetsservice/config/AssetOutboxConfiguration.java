@@ -0,0 +1,57 @@
+package com.assetsservice.config;
+
+import com.assetsservice.helper.ApplicationEventAssetEventSink;
+import com.assetsservice.helper.AssetEventSink;
+import com.assetsservice.helper.AssetOutboxRelay;
+import com.assetsservice.helper.WebhookAssetEventSink;
+import com.assetsservice.repository.AssetOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.web.client.RestClientBuilderConfigurer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerInterceptor;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerRequestFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The relay delivers to every AssetEventSink bean plus one webhook sink per asset-outbox.webhook.urls entry.
+@Configuration
+@EnableConfigurationProperties(AssetOutboxProperties.class)
+public class AssetOutboxConfiguration {
+
+    @Bean
+    public ApplicationEventAssetEventSink applicationEventAssetEventSink(ApplicationEventPublisher publisher) {
+        return new ApplicationEventAssetEventSink(publisher);
+    }
+
+    // The webhook client is built here rather than exposed as a @LoadBalanced RestClient.Builder bean: such a bean
+    // would make Boot's own builder back off, and with it the observation customizers, and would load-balance every
+    // other RestClient.Builder injection point.
+    @Bean
+    public AssetOutboxRelay assetOutboxRelay(AssetOutboxProperties properties, AssetOutboxRepository assetOutboxRepository,
+                                             List<AssetEventSink> sinks, RestClientBuilderConfigurer restClientBuilderConfigurer,
+                                             LoadBalancerClient loadBalancerClient, LoadBalancerRequestFactory loadBalancerRequestFactory,
+                                             ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                                             MeterRegistry registry) {
+        List<AssetEventSink> allSinks = new ArrayList<>(sinks);
+        if (!properties.webhook().urls().isEmpty()) {
+            SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+            requestFactory.setConnectTimeout(properties.webhook().connectTimeout());
+            requestFactory.setReadTimeout(properties.webhook().readTimeout());
+            RestClient restClient = restClientBuilderConfigurer.configure(RestClient.builder())
+                    .requestFactory(requestFactory)
+                    .requestInterceptor(new LoadBalancerInterceptor(loadBalancerClient, loadBalancerRequestFactory))
+                    .build();
+            properties.webhook().urls().forEach(url -> allSinks.add(new WebhookAssetEventSink(url, properties.webhook().token(), restClient, objectMapper)));
+        }
+        return new AssetOutboxRelay(properties.relay(), assetOutboxRepository, allSinks, objectMapper, transactionManager, registry);
+    }
+}
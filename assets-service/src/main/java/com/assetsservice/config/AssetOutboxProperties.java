@@ -0,0 +1,36 @@
+package com.assetsservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "asset-outbox")
+public record AssetOutboxProperties(
+        @DefaultValue Relay relay,
+        @DefaultValue Webhook webhook
+) {
+
+    public record Relay(
+            // Whether this instance runs a relay; events are written to the outbox either way.
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("100") int batchSize,
+            // Pause between polls once the outbox is drained.
+            @DefaultValue("500ms") Duration pollInterval,
+            // A claimed batch is offered to other relays again when it wasn't delivered within this time.
+            @DefaultValue("30s") Duration claimTimeout,
+            // Failed deliveries are retried after initial-backoff, doubling up to max-backoff.
+            @DefaultValue("1s") Duration initialBackoff,
+            @DefaultValue("5m") Duration maxBackoff
+    ) {}
+
+    public record Webhook(
+            // Every batch is POSTed as a JSON array to each of these; service names are resolved through Consul.
+            @DefaultValue List<String> urls,
+            @DefaultValue("1s") Duration connectTimeout,
+            @DefaultValue("5s") Duration readTimeout,
+            // Sent in the X-Asset-Events-Token header; must match asset-projection.event-token of user-service.
+            String token
+    ) {}
+}
@@ -0,0 +1,17 @@
+package com.assetsservice.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Cache names must also be listed in spring.cache.cache-names, so they are created
+// at startup and get their metrics registered.
+// The caching advice wraps the transactional one, so @CacheEvict runs after commit: evicting earlier would let a
+// concurrent read cache the old row again for the whole TTL.
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfiguration {
+
+    public static final String ASSETS_BY_ID_CACHE = "assetsById";
+    public static final String ASSETS_BY_NAME_CACHE = "assetsByName";
+}
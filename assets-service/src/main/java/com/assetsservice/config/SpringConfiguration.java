@@ -6,12 +6,16 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import feign.Capability;
 import feign.micrometer.MicrometerCapability;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 
 import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS;
 
 @Configuration
+@EnableConfigurationProperties(ExportProperties.class)
 public class SpringConfiguration {
 
     @Bean
@@ -26,4 +30,12 @@ public class SpringConfiguration {
     public Capability capability(final MeterRegistry registry) {
         return new MicrometerCapability(registry);
     }
+
+    // ETag + If-None-Match for the per-user assets user-service caches, so its revalidations come back as a bodiless 304.
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> userAssetsEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/assets/users/*");
+        return registration;
+    }
 }
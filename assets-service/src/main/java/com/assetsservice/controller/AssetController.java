@@ -1,8 +1,19 @@
 package com.assetsservice.controller;
 
+import com.assetsservice.config.ExportProperties;
+import com.assetsservice.exception.TooManyUserIdsException;
 import com.assetsservice.model.dto.AssetDto;
+import com.assetsservice.model.dto.AssetSearchCriteria;
+import com.assetsservice.model.response.AssetRevisionsResponse;
+import com.assetsservice.model.response.AssetsBatchResponse;
+import com.assetsservice.model.response.AssetsCursorResponse;
 import com.assetsservice.model.response.AssetsResponse;
+import com.assetsservice.model.response.UsersAssetsResponse;
 import com.assetsservice.service.AssetService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +22,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Set;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
 @AllArgsConstructor
 
@@ -18,7 +38,13 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/assets")
 public class AssetController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_CHUNK_SIZE = 5000;
+    private static final int MAX_USER_IDS = 500;
+
     private final AssetService assetService;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties exportProperties;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -26,16 +52,70 @@ public class AssetController {
         assetService.addAsset(asset);
     }
 
+    // Accepts either a JSON array or newline-delimited JSON; both are read incrementally,
+    // so the whole payload never has to be held in memory.
+    @PostMapping(value = "/batch", consumes = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<AssetsBatchResponse> saveAssets(InputStream body,
+                                                          @RequestParam(name = "chunkSize", defaultValue = "500") int chunkSize) throws IOException {
+        int size = Math.max(1, Math.min(chunkSize, MAX_BATCH_CHUNK_SIZE));
+        try (MappingIterator<AssetDto> assets = objectMapper.readerFor(AssetDto.class).readValues(body)) {
+            AssetsBatchResponse response = assetService.addAssets(assets, size);
+            return new ResponseEntity<>(response, response.failed() == 0 ? HttpStatus.CREATED : HttpStatus.OK);
+        }
+    }
+
     @GetMapping
     public Page<AssetDto> getAssets(@PageableDefault(page = 0, size = 20) Pageable pageable) {
         return assetService.findAll(pageable);
     }
 
+    @GetMapping("/search")
+    public Page<AssetDto> searchAssets(AssetSearchCriteria criteria,
+                                       @PageableDefault(page = 0, size = 20) Pageable pageable) {
+        return assetService.search(criteria, pageable);
+    }
+
+    @GetMapping("/cursor")
+    public AssetsCursorResponse getAssetsByCursor(@RequestParam(name = "after", required = false) String after,
+                                                  @RequestParam(name = "size", defaultValue = "20") int size,
+                                                  @RequestParam(name = "count", defaultValue = "false") boolean count) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        return assetService.findAll(after, pageSize, count);
+    }
+
+    // Rows are written as they come off the database cursor, so memory use doesn't depend on the table size.
+    // A WebAsyncTask rather than a StreamingResponseBody, so the export gets its own timeout (see ExportProperties).
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportAssets(HttpServletResponse response) {
+        return new WebAsyncTask<>(exportProperties.timeout().toMillis(), () -> {
+            response.setContentType(APPLICATION_NDJSON_VALUE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+                assetService.streamAll(asset -> {
+                    try {
+                        generator.writeObject(asset);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            return null;
+        });
+    }
+
     @GetMapping("/{id}")
     public AssetDto getAsset(@PathVariable("id") Integer assetId) {
         return assetService.findById(assetId);
     }
 
+    @GetMapping("/{id}/revisions")
+    public AssetRevisionsResponse getAssetRevisions(@PathVariable("id") Integer assetId,
+                                                    @RequestParam(name = "after", required = false) String after,
+                                                    @RequestParam(name = "size", defaultValue = "20") int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        return assetService.findRevisions(assetId, after, pageSize);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAsset(@PathVariable("id") Integer assetId) {
         AssetDto asset = assetService.findById(assetId);
@@ -51,8 +131,20 @@ public class AssetController {
         assetService.updateAsset(asset);
     }
 
+    // Resolves the assets of many users with one user_id IN (...) query instead of a call per user.
+    @GetMapping("/users")
+    public UsersAssetsResponse getAssetsBelongToUsers(@RequestParam("userIds") Set<Integer> userIds) {
+        if (userIds.size() > MAX_USER_IDS) {
+            throw new TooManyUserIdsException(MAX_USER_IDS);
+        }
+        return assetService.findByUserIds(userIds);
+    }
+
     @GetMapping("/users/{userId}")
-    public AssetsResponse getAssetsBelongToUser(@PathVariable("userId") Integer userId) throws Exception {
-        return assetService.findByUserId(userId);
+    public AssetsResponse getAssetsBelongToUser(@PathVariable("userId") Integer userId,
+                                                @RequestParam(name = "after", required = false) String after,
+                                                @RequestParam(name = "size", defaultValue = "100") int size) throws Exception {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        return assetService.findByUserId(userId, after, pageSize);
     }
 }
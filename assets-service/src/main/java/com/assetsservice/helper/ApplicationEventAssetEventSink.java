@@ -0,0 +1,27 @@
+package com.assetsservice.helper;
+
+import com.assetsservice.model.event.AssetChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+// Hands the events to @EventListener methods for AssetChangeEvent in this application. Listeners run on the relay
+// thread, and an exception thrown by one of them fails the batch.
+public class ApplicationEventAssetEventSink implements AssetEventSink {
+
+    private final ApplicationEventPublisher publisher;
+
+    public ApplicationEventAssetEventSink(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String name() {
+        return "in-process";
+    }
+
+    @Override
+    public void deliver(List<AssetChangeEvent> events) {
+        events.forEach(publisher::publishEvent);
+    }
+}
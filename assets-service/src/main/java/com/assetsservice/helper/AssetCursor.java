@@ -0,0 +1,33 @@
+package com.assetsservice.helper;
+
+import com.assetsservice.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Encodes the keyset position (the last seen asset_id) into an opaque token, so clients
+// can't depend on its structure and we are free to extend it with more sort keys later.
+public final class AssetCursor {
+
+    private static final String PREFIX = "a:";
+
+    private AssetCursor() {
+    }
+
+    public static String encode(Integer assetId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + assetId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Integer decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Unknown cursor format");
+            }
+            return Integer.valueOf(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(e);
+        }
+    }
+}
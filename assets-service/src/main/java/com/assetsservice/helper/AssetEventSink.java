@@ -0,0 +1,14 @@
+package com.assetsservice.helper;
+
+import com.assetsservice.model.event.AssetChangeEvent;
+
+import java.util.List;
+
+// Destination of the asset change events relayed from the outbox. Delivery is at least once: when any sink fails,
+// the whole batch is retried for all of them, so sinks and their consumers must tolerate duplicates.
+public interface AssetEventSink {
+
+    String name();
+
+    void deliver(List<AssetChangeEvent> events) throws Exception;
+}
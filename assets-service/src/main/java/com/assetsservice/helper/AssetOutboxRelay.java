@@ -0,0 +1,202 @@
+package com.assetsservice.helper;
+
+import com.assetsservice.config.AssetOutboxProperties;
+import com.assetsservice.model.dto.AssetDto;
+import com.assetsservice.model.event.AssetChangeEvent;
+import com.assetsservice.model.outbox.AssetOutboxEntry;
+import com.assetsservice.repository.AssetOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Drains the asset outbox in id order and hands each batch to every sink. Batches are claimed with
+// FOR UPDATE SKIP LOCKED and a lease, so every replica can run a relay: each one takes a different batch, and a batch
+// claimed by a replica that died becomes claimable again once its lease ran out. Failed batches are retried with
+// exponential backoff.
+@Slf4j
+public class AssetOutboxRelay implements SmartLifecycle {
+
+    private static final int MAX_BACKOFF_DOUBLINGS = 20;
+
+    private final AssetOutboxProperties.Relay properties;
+    private final AssetOutboxRepository assetOutboxRepository;
+    private final List<AssetEventSink> sinks;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry registry;
+
+    private final Counter eventsDelivered;
+    private final Counter eventsRetried;
+    private final Counter eventsUnreadable;
+    private final Timer deliveryLag;
+    private final Timer batchDeliveries;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public AssetOutboxRelay(AssetOutboxProperties.Relay properties, AssetOutboxRepository assetOutboxRepository,
+                            List<AssetEventSink> sinks, ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.properties = properties;
+        this.assetOutboxRepository = assetOutboxRepository;
+        this.sinks = sinks;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.registry = registry;
+
+        Gauge.builder("asset.outbox.pending", assetOutboxRepository, AssetOutboxRepository::count)
+                .description("Asset change events not delivered yet")
+                .register(registry);
+        Gauge.builder("asset.outbox.lag", assetOutboxRepository, AssetOutboxRelay::oldestAgeSeconds)
+                .description("Age of the oldest asset change event not delivered yet")
+                .baseUnit("seconds")
+                .register(registry);
+        this.eventsDelivered = Counter.builder("asset.outbox.events.delivered").register(registry);
+        this.eventsRetried = Counter.builder("asset.outbox.events.retried")
+                .description("Asset change events rescheduled after a failed delivery")
+                .register(registry);
+        this.eventsUnreadable = Counter.builder("asset.outbox.events.unreadable")
+                .description("Asset change events rescheduled because their payload couldn't be read")
+                .register(registry);
+        this.deliveryLag = Timer.builder("asset.outbox.delivery.lag")
+                .description("Time from the change until its event was delivered to all sinks")
+                .register(registry);
+        this.batchDeliveries = Timer.builder("asset.outbox.delivery").register(registry);
+    }
+
+    // Claims, delivers and settles one batch; returns the number of events it claimed.
+    public int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<AssetOutboxEntry> entries = transactionTemplate.execute(status ->
+                assetOutboxRepository.claim(now, properties.batchSize(), now.plus(properties.claimTimeout())));
+        if (entries == null || entries.isEmpty()) {
+            return 0;
+        }
+
+        // An entry that can't be read is rescheduled on its own, so it neither blocks the rest of its batch nor
+        // comes back with every lease.
+        List<AssetOutboxEntry> readable = new ArrayList<>(entries.size());
+        List<AssetChangeEvent> events = new ArrayList<>(entries.size());
+        for (AssetOutboxEntry entry : entries) {
+            try {
+                events.add(toEvent(entry));
+                readable.add(entry);
+            } catch (JsonProcessingException e) {
+                log.error("Asset outbox event {} can't be read, rescheduling it", entry.id(), e);
+                eventsUnreadable.increment();
+                reschedule(List.of(entry), e);
+            }
+        }
+        if (readable.isEmpty()) {
+            return entries.size();
+        }
+
+        for (AssetEventSink sink : sinks) {
+            try {
+                batchDeliveries.recordCallable(() -> {
+                    sink.deliver(events);
+                    return null;
+                });
+            } catch (Exception e) {
+                log.warn("Failed to deliver {} asset change events to {}", events.size(), sink.name(), e);
+                Counter.builder("asset.outbox.delivery.failures")
+                        .tag("sink", sink.name())
+                        .register(registry)
+                        .increment();
+                reschedule(readable, e);
+                return entries.size();
+            }
+        }
+
+        assetOutboxRepository.delete(readable);
+        LocalDateTime delivered = LocalDateTime.now();
+        readable.forEach(entry -> deliveryLag.record(Duration.between(entry.created(), delivered)));
+        eventsDelivered.increment(readable.size());
+        return entries.size();
+    }
+
+    private void reschedule(List<AssetOutboxEntry> entries, Exception cause) {
+        LocalDateTime now = LocalDateTime.now();
+        entries.forEach(entry -> {
+            long doublings = Math.min(entry.attempts(), MAX_BACKOFF_DOUBLINGS);
+            Duration backoff = properties.initialBackoff().multipliedBy(1L << doublings);
+            if (backoff.compareTo(properties.maxBackoff()) > 0) {
+                backoff = properties.maxBackoff();
+            }
+            assetOutboxRepository.reschedule(entry, now.plus(backoff), String.valueOf(cause.getMessage()));
+        });
+        eventsRetried.increment(entries.size());
+    }
+
+    private AssetChangeEvent toEvent(AssetOutboxEntry entry) throws JsonProcessingException {
+        return new AssetChangeEvent(entry.id(), entry.type(), objectMapper.readValue(entry.payload(), AssetDto.class), entry.created());
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                if (relayBatch() < properties.batchSize()) {
+                    Thread.sleep(properties.pollInterval().toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Asset outbox relay failed, retrying after {}", properties.pollInterval(), e);
+                try {
+                    Thread.sleep(properties.pollInterval().toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static double oldestAgeSeconds(AssetOutboxRepository repository) {
+        return repository.findOldestCreated()
+                .map(created -> Duration.between(created, LocalDateTime.now()).toMillis() / 1000.0)
+                .orElse(0.0);
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.enabled();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::drain, "asset-outbox-relay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        // A batch being delivered finishes first; it is settled before the thread exits.
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
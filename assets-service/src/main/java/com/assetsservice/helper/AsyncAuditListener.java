@@ -0,0 +1,131 @@
+package com.assetsservice.helper;
+
+import com.assetsservice.model.audit.AuditRow;
+import com.assetsservice.model.audit.PendingRevision;
+import org.hibernate.envers.Audited;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Takes over from the Envers listeners when audit.mode=async: it captures the rows Envers would have written
+// for @Audited entities, keeps them per transaction and hands them to the AsyncAuditWriter once it commits.
+// Only basic single-column properties are supported, which is all our audited entities have.
+public class AsyncAuditListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final AsyncAuditWriter writer;
+    private final String auditTableSuffix;
+    private final String revisionFieldName;
+    private final String revisionTypeFieldName;
+    private final Map<String, String> insertSqlByEntity = new ConcurrentHashMap<>();
+
+    public AsyncAuditListener(AsyncAuditWriter writer, String auditTableSuffix,
+                              String revisionFieldName, String revisionTypeFieldName) {
+        this.writer = writer;
+        this.auditTableSuffix = auditTableSuffix;
+        this.revisionFieldName = revisionFieldName;
+        this.revisionTypeFieldName = revisionTypeFieldName;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        capture(event.getPersister(), event.getId(), event.getState(), RevisionType.ADD);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        capture(event.getPersister(), event.getId(), event.getState(), RevisionType.MOD);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        // Like Envers without store_data_at_delete, a deletion only records the id.
+        capture(event.getPersister(), event.getId(), null, RevisionType.DEL);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void capture(EntityPersister persister, Object id, Object[] state, RevisionType revisionType) {
+        if (!persister.getMappedClass().isAnnotationPresent(Audited.class)) {
+            return;
+        }
+        AbstractEntityPersister entityPersister = (AbstractEntityPersister) persister;
+        String insertSql = insertSqlByEntity.computeIfAbsent(entityPersister.getEntityName(), name -> buildInsertSql(entityPersister));
+
+        int propertyCount = entityPersister.getPropertyNames().length;
+        Object[] values = new Object[propertyCount + 1];
+        values[0] = id;
+        for (int i = 0; i < propertyCount; i++) {
+            values[i + 1] = state == null ? null : toJdbcValue(state[i]);
+        }
+        AuditRow row = new AuditRow(insertSql, values, revisionType.getRepresentation());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            writer.enqueue(new PendingRevision(LocalDateTime.now(), List.of(row)));
+            return;
+        }
+        pendingRows().add(row);
+    }
+
+    private List<AuditRow> pendingRows() {
+        @SuppressWarnings("unchecked")
+        List<AuditRow> rows = (List<AuditRow>) TransactionSynchronizationManager.getResource(this);
+        if (rows == null) {
+            List<AuditRow> newRows = Collections.synchronizedList(new ArrayList<>());
+            TransactionSynchronizationManager.bindResource(this, newRows);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writer.enqueue(new PendingRevision(LocalDateTime.now(), List.copyOf(newRows)));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AsyncAuditListener.this);
+                }
+            });
+            rows = newRows;
+        }
+        return rows;
+    }
+
+    private String buildInsertSql(AbstractEntityPersister persister) {
+        List<String> columns = new ArrayList<>(List.of(persister.getIdentifierColumnNames()));
+        for (int i = 0; i < persister.getPropertyNames().length; i++) {
+            String[] propertyColumns = persister.getPropertyColumnNames(i);
+            if (propertyColumns.length != 1) {
+                throw new IllegalStateException("Async auditing supports single-column properties only: "
+                        + persister.getEntityName() + "." + persister.getPropertyNames()[i]);
+            }
+            columns.add(propertyColumns[0]);
+        }
+        columns.add(revisionFieldName);
+        columns.add(revisionTypeFieldName);
+
+        return "INSERT INTO " + persister.getTableName() + auditTableSuffix
+                + " (" + String.join(", ", columns) + ")"
+                + " VALUES (" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+    }
+
+    // Audited enums are all mapped with EnumType.STRING.
+    private static Object toJdbcValue(Object value) {
+        return value instanceof Enum<?> enumValue ? enumValue.name() : value;
+    }
+}
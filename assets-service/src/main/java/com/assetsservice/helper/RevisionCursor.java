@@ -0,0 +1,33 @@
+package com.assetsservice.helper;
+
+import com.assetsservice.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Encodes the keyset position of a revision history (the last seen revision_id) into an opaque token, like
+// AssetCursor does for asset lists; the prefixes differ, so a cursor of one list is rejected by the other.
+public final class RevisionCursor {
+
+    private static final String PREFIX = "r:";
+
+    private RevisionCursor() {
+    }
+
+    public static String encode(Integer revisionId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + revisionId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Integer decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Unknown cursor format");
+            }
+            return Integer.valueOf(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(e);
+        }
+    }
+}
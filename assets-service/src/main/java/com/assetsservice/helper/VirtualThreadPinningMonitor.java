@@ -0,0 +1,74 @@
+package com.assetsservice.helper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+// Reports virtual threads that block while pinned to their carrier (inside synchronized blocks or native frames),
+// e.g. in JDBC drivers that still guard I/O with monitors. Every pinned block longer than the threshold
+// is counted and timed, and logged with the frames that held the carrier.
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration threshold;
+    private final Counter pinnedEvents;
+    private final Timer pinnedTime;
+
+    private RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry registry) {
+        this.threshold = threshold;
+        this.pinnedEvents = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(registry);
+        this.pinnedTime = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .register(registry);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.increment();
+        pinnedTime.record(event.getDuration());
+        log.warn("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(), frames(event));
+    }
+
+    private static String frames(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "\tno stack trace";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(RecordedFrame::getMethod)
+                .map(method -> "\tat " + method.getType().getName() + "." + method.getName())
+                .collect(Collectors.joining("\n"));
+    }
+
+    @Override
+    public void start() {
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+    }
+
+    @Override
+    public void stop() {
+        recording.close();
+        recording = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recording != null;
+    }
+}
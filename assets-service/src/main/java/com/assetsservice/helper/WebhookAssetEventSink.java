@@ -0,0 +1,47 @@
+package com.assetsservice.helper;
+
+import com.assetsservice.model.event.AssetChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+// POSTs every batch as a JSON array, with the shared token in X-Asset-Events-Token when one is configured;
+// any non-2xx answer fails the delivery.
+public class WebhookAssetEventSink implements AssetEventSink {
+
+    public static final String TOKEN_HEADER = "X-Asset-Events-Token";
+
+    private final String url;
+    private final String token;
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+
+    public WebhookAssetEventSink(String url, String token, RestClient restClient, ObjectMapper objectMapper) {
+        this.url = url;
+        this.token = token;
+        this.restClient = restClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return url;
+    }
+
+    @Override
+    public void deliver(List<AssetChangeEvent> events) throws Exception {
+        restClient.post()
+                .uri(url)
+                .headers(headers -> {
+                    if (token != null) {
+                        headers.set(TOKEN_HEADER, token);
+                    }
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(objectMapper.writeValueAsBytes(events))
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
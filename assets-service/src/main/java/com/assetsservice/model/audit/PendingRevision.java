@@ -0,0 +1,17 @@
+package com.assetsservice.model.audit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Everything a committed transaction changed in audited entities; written as a single revision.
+public record PendingRevision(
+        LocalDateTime timestamp,
+        List<AuditRow> rows,
+        CompletableFuture<Void> written
+) {
+
+    public PendingRevision(LocalDateTime timestamp, List<AuditRow> rows) {
+        this(timestamp, rows, new CompletableFuture<>());
+    }
+}
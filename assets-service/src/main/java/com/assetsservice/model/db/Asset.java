@@ -11,6 +11,7 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
+import static com.assetsservice.repository.AssetRepository.ASSET_ID_ALLOCATION_SIZE;
 import static com.assetsservice.repository.AssetRepository.ASSET_ID_SEQUENCE;
 import static jakarta.persistence.EnumType.STRING;
 
@@ -26,7 +27,7 @@ import static jakarta.persistence.EnumType.STRING;
 public class Asset {
 
     @Id
-    @SequenceGenerator(name = ASSET_ID_SEQUENCE, sequenceName = ASSET_ID_SEQUENCE, allocationSize = 1)
+    @SequenceGenerator(name = ASSET_ID_SEQUENCE, sequenceName = ASSET_ID_SEQUENCE, allocationSize = ASSET_ID_ALLOCATION_SIZE)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ASSET_ID_SEQUENCE)
     private Integer assetId;
 
@@ -27,7 +27,7 @@ public class RevisionAudit {
     // in order to use better column names, and the Date type for the timestamp.
 
     @Id
-    @SequenceGenerator(name = REVISION_AUDIT_REVISION_ID_SEQUENCE, sequenceName = REVISION_AUDIT_REVISION_ID_SEQUENCE, allocationSize = 1)
+    @SequenceGenerator(name = REVISION_AUDIT_REVISION_ID_SEQUENCE, sequenceName = REVISION_AUDIT_REVISION_ID_SEQUENCE, allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = REVISION_AUDIT_REVISION_ID_SEQUENCE)
     @RevisionNumber
     private int revisionId;
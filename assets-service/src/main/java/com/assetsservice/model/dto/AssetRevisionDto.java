@@ -0,0 +1,10 @@
+package com.assetsservice.model.dto;
+
+import java.time.LocalDateTime;
+
+public record AssetRevisionDto(
+        Integer revisionId,
+        LocalDateTime timestamp,
+        String revisionType,
+        AssetDto asset
+) {}
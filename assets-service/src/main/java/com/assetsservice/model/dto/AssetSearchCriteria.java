@@ -0,0 +1,16 @@
+package com.assetsservice.model.dto;
+
+import com.assetsservice.model.enumtype.AssetStatus;
+import com.assetsservice.model.enumtype.AssetType;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+public record AssetSearchCriteria(
+        AssetType assetType,
+        AssetStatus status,
+        Integer userId,
+        String namePrefix,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo
+) {}
@@ -0,0 +1,7 @@
+package com.assetsservice.model.enumtype;
+
+public enum AssetChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
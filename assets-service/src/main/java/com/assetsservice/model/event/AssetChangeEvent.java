@@ -0,0 +1,14 @@
+package com.assetsservice.model.event;
+
+import com.assetsservice.model.dto.AssetDto;
+import com.assetsservice.model.enumtype.AssetChangeType;
+
+import java.time.LocalDateTime;
+
+// eventId is the outbox id: for a given asset it grows in commit order, so consumers can drop events that arrive late.
+public record AssetChangeEvent(
+        Long eventId,
+        AssetChangeType type,
+        AssetDto asset,
+        LocalDateTime occurredAt
+) {}
@@ -0,0 +1,13 @@
+package com.assetsservice.model.outbox;
+
+import com.assetsservice.model.enumtype.AssetChangeType;
+
+import java.time.LocalDateTime;
+
+public record AssetOutboxEntry(
+        long id,
+        AssetChangeType type,
+        String payload,
+        LocalDateTime created,
+        int attempts
+) {}
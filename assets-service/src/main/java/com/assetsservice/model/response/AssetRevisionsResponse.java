@@ -0,0 +1,11 @@
+package com.assetsservice.model.response;
+
+import com.assetsservice.model.dto.AssetRevisionDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public record AssetRevisionsResponse(
+        List<AssetRevisionDto> revisions,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String next
+) {}
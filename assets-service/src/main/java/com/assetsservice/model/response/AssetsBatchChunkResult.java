@@ -0,0 +1,11 @@
+package com.assetsservice.model.response;
+
+import java.util.List;
+
+public record AssetsBatchChunkResult(
+        int chunk,
+        int offset,
+        int size,
+        int created,
+        List<AssetsBatchItemError> errors
+) {}
@@ -0,0 +1,7 @@
+package com.assetsservice.model.response;
+
+public record AssetsBatchItemError(
+        Integer index,
+        String error,
+        String code
+) {}
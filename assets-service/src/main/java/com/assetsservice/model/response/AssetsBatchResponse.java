@@ -0,0 +1,10 @@
+package com.assetsservice.model.response;
+
+import java.util.List;
+
+public record AssetsBatchResponse(
+        int received,
+        int created,
+        int failed,
+        List<AssetsBatchChunkResult> chunks
+) {}
@@ -0,0 +1,12 @@
+package com.assetsservice.model.response;
+
+import com.assetsservice.model.dto.AssetDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public record AssetsCursorResponse(
+        List<AssetDto> assets,
+        String next,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long totalElements
+) {}
@@ -1,9 +1,11 @@
 package com.assetsservice.model.response;
 
 import com.assetsservice.model.dto.AssetDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.util.List;
 
 public record AssetsResponse(
-        List<AssetDto> assets
+        List<AssetDto> assets,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String next
 ) {}
@@ -0,0 +1,10 @@
+package com.assetsservice.model.response;
+
+import com.assetsservice.model.dto.AssetDto;
+
+import java.util.List;
+import java.util.Map;
+
+public record UsersAssetsResponse(
+        Map<Integer, List<AssetDto>> users
+) {}
@@ -0,0 +1,90 @@
+package com.assetsservice.repository;
+
+import com.assetsservice.model.db.Asset;
+import com.assetsservice.model.enumtype.AssetChangeType;
+import com.assetsservice.model.mapper.AssetMapper;
+import com.assetsservice.model.outbox.AssetOutboxEntry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Plain JDBC: claiming relies on SELECT ... FOR UPDATE SKIP LOCKED, and appends are batched with the change itself.
+@AllArgsConstructor
+
+@Repository
+public class AssetOutboxRepository {
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Must run in the transaction that changed the assets, after their rows were flushed.
+    public void append(AssetChangeType type, Collection<Asset> assets) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate("INSERT INTO asset_outbox (event_type, asset_id, payload, created, next_attempt_at) VALUES (?, ?, ?, ?, ?)",
+                assets.stream()
+                        .map(asset -> new Object[]{type.name(), asset.getAssetId(), toPayload(asset), now, now})
+                        .toList());
+    }
+
+    // Rows locked by another relay's claim are skipped rather than waited for, and the claimed rows are leased
+    // until leaseUntil, so the caller can deliver them outside of this transaction.
+    public List<AssetOutboxEntry> claim(LocalDateTime now, int limit, LocalDateTime leaseUntil) {
+        List<AssetOutboxEntry> entries = jdbcTemplate.query("""
+                        SELECT id, event_type, payload, created, attempts FROM asset_outbox
+                        WHERE next_attempt_at <= ?
+                        ORDER BY id
+                        LIMIT ?
+                        FOR UPDATE SKIP LOCKED""",
+                (rs, rowNum) -> new AssetOutboxEntry(
+                        rs.getLong("id"),
+                        AssetChangeType.valueOf(rs.getString("event_type")),
+                        rs.getString("payload"),
+                        rs.getTimestamp("created").toLocalDateTime(),
+                        rs.getInt("attempts")),
+                now, limit);
+        if (!entries.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE asset_outbox SET next_attempt_at = ? WHERE id = ?",
+                    entries.stream().map(entry -> new Object[]{leaseUntil, entry.id()}).toList());
+        }
+        return entries;
+    }
+
+    public void delete(Collection<AssetOutboxEntry> entries) {
+        jdbcTemplate.batchUpdate("DELETE FROM asset_outbox WHERE id = ?",
+                entries.stream().map(entry -> new Object[]{entry.id()}).toList());
+    }
+
+    public void reschedule(AssetOutboxEntry entry, LocalDateTime nextAttemptAt, String error) {
+        String lastError = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+        jdbcTemplate.update("UPDATE asset_outbox SET attempts = attempts + 1, next_attempt_at = ?, last_error = ? WHERE id = ?",
+                nextAttemptAt, lastError, entry.id());
+    }
+
+    public long count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM asset_outbox", Long.class);
+    }
+
+    public Optional<LocalDateTime> findOldestCreated() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT MIN(created) FROM asset_outbox", Timestamp.class))
+                .map(Timestamp::toLocalDateTime);
+    }
+
+    private String toPayload(Asset asset) {
+        try {
+            return objectMapper.writeValueAsString(AssetMapper.INSTANCE.assetToAssetDto(asset));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
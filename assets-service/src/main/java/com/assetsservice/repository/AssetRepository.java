@@ -1,15 +1,40 @@
 package com.assetsservice.repository;
 
 import com.assetsservice.model.db.Asset;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
-public interface AssetRepository extends JpaRepository<Asset, Integer> {
+public interface AssetRepository extends JpaRepository<Asset, Integer>, JpaSpecificationExecutor<Asset> {
 
     String ASSET_ID_SEQUENCE = "asset_id_sequence";
+    // Must match the INCREMENT BY of asset_id_sequence (see V3 migration).
+    int ASSET_ID_ALLOCATION_SIZE = 50;
 
     Asset findByName(String name);
 
-    Asset findByUserId(Integer userId);
+    List<Asset> findByUserIdInOrderByUserIdAscAssetIdAsc(Collection<Integer> userIds);
+
+    List<Asset> findByUserIdAndAssetIdGreaterThanOrderByAssetIdAsc(Integer userId, Integer assetId, Limit limit);
+
+    // Must be consumed inside a transaction: Postgres only honours the fetch size with autocommit off,
+    // otherwise the driver buffers the whole result set.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Asset> streamAllByOrderByAssetIdAsc();
+
+    List<Asset> findByAssetIdGreaterThanOrderByAssetIdAsc(Integer assetId, Limit limit);
 }
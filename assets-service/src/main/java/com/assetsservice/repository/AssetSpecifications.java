@@ -0,0 +1,43 @@
+package com.assetsservice.repository;
+
+import com.assetsservice.model.db.Asset;
+import com.assetsservice.model.dto.AssetSearchCriteria;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Only equality and prefix/range predicates are used, so every combination can be served by the
+// composite indexes from the V7 migrations.
+public final class AssetSpecifications {
+
+    private AssetSpecifications() {
+    }
+
+    public static Specification<Asset> matching(AssetSearchCriteria criteria) {
+        List<Specification<Asset>> specifications = new ArrayList<>();
+        if (criteria.assetType() != null) {
+            specifications.add((root, query, cb) -> cb.equal(root.get("assetType"), criteria.assetType()));
+        }
+        if (criteria.status() != null) {
+            specifications.add((root, query, cb) -> cb.equal(root.get("status"), criteria.status()));
+        }
+        if (criteria.userId() != null) {
+            specifications.add((root, query, cb) -> cb.equal(root.get("userId"), criteria.userId()));
+        }
+        if (criteria.namePrefix() != null && !criteria.namePrefix().isEmpty()) {
+            specifications.add((root, query, cb) -> cb.like(root.get("name"), escapeLike(criteria.namePrefix()) + "%", '\\'));
+        }
+        if (criteria.createdFrom() != null) {
+            specifications.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("created"), criteria.createdFrom()));
+        }
+        if (criteria.createdTo() != null) {
+            specifications.add((root, query, cb) -> cb.lessThan(root.get("created"), criteria.createdTo()));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
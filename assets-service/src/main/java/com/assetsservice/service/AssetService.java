@@ -2,23 +2,44 @@ package com.assetsservice.service;
 
 import com.assetsservice.exception.AssetNotFoundException;
 import com.assetsservice.model.dto.AssetDto;
+import com.assetsservice.model.dto.AssetSearchCriteria;
+import com.assetsservice.model.response.AssetRevisionsResponse;
+import com.assetsservice.model.response.AssetsBatchResponse;
+import com.assetsservice.model.response.AssetsCursorResponse;
 import com.assetsservice.model.response.AssetsResponse;
+import com.assetsservice.model.response.UsersAssetsResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Consumer;
+
 public interface AssetService {
 
     void addAsset(AssetDto asset);
 
+    AssetsBatchResponse addAssets(Iterator<AssetDto> assets, int chunkSize);
+
     AssetDto findByName(String name);
 
     AssetDto findById(Integer assetId);
 
     Page<AssetDto> findAll(Pageable pageable);
 
+    Page<AssetDto> search(AssetSearchCriteria criteria, Pageable pageable);
+
+    AssetsCursorResponse findAll(String after, int size, boolean withTotal);
+
+    void streamAll(Consumer<AssetDto> consumer);
+
     void deleteById(Integer assetId);
 
-    AssetsResponse findByUserId(Integer userId) throws AssetNotFoundException;
+    AssetRevisionsResponse findRevisions(Integer assetId, String after, int size);
+
+    AssetsResponse findByUserId(Integer userId, String after, int size) throws AssetNotFoundException;
+
+    UsersAssetsResponse findByUserIds(Set<Integer> userIds);
 
     void updateAsset(AssetDto asset) throws AssetNotFoundException;
 }
@@ -1,41 +1,181 @@
 package com.assetsservice.service.impl;
 
 import com.assetsservice.exception.AssetNotFoundException;
+import com.assetsservice.helper.AssetCursor;
+import com.assetsservice.helper.RevisionCursor;
 import com.assetsservice.model.db.Asset;
+import com.assetsservice.model.db.RevisionAudit;
 import com.assetsservice.model.dto.AssetDto;
+import com.assetsservice.model.dto.AssetRevisionDto;
+import com.assetsservice.model.dto.AssetSearchCriteria;
+import com.assetsservice.model.enumtype.AssetChangeType;
 import com.assetsservice.model.mapper.AssetMapper;
+import com.assetsservice.model.response.AssetRevisionsResponse;
+import com.assetsservice.model.response.AssetsBatchChunkResult;
+import com.assetsservice.model.response.AssetsBatchItemError;
+import com.assetsservice.model.response.AssetsBatchResponse;
+import com.assetsservice.model.response.AssetsCursorResponse;
 import com.assetsservice.model.response.AssetsResponse;
+import com.assetsservice.model.response.UsersAssetsResponse;
+import com.assetsservice.repository.AssetOutboxRepository;
 import com.assetsservice.repository.AssetRepository;
+import com.assetsservice.repository.AssetSpecifications;
 import com.assetsservice.service.AssetService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.envers.AuditReaderFactory;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.envers.query.AuditEntity;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.assetsservice.config.CacheConfiguration.ASSETS_BY_ID_CACHE;
+import static com.assetsservice.config.CacheConfiguration.ASSETS_BY_NAME_CACHE;
+
+@Slf4j
 @AllArgsConstructor
 
 @Service
 public class AssetServiceImpl implements AssetService {
 
+    private static final String INVALID_ASSET = "INVALID_ASSET";
+    private static final String CHUNK_FAILED = "CHUNK_FAILED";
+    private static final String MALFORMED_INPUT = "MALFORMED_INPUT";
+
     private final AssetRepository assetRepository;
+    private final AssetOutboxRepository assetOutboxRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
 
+    // A supplied id of an existing asset overwrites that row, so its by-id entry and its old name entry are stale too.
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = ASSETS_BY_ID_CACHE, key = "#assetDto.assetId()", condition = "#assetDto.assetId() != null"),
+            @CacheEvict(cacheNames = ASSETS_BY_NAME_CACHE, allEntries = true)
+    })
+    @Transactional
     public void addAsset(AssetDto assetDto) {
+        boolean overwrites = assetDto.assetId() != null && assetRepository.existsById(assetDto.assetId());
+        save(assetDto, overwrites ? AssetChangeType.UPDATED : AssetChangeType.CREATED);
+    }
+
+    // The asset row is flushed (and so locked) before its outbox row takes the next event id, which keeps the event
+    // ids of one asset in commit order.
+    private void save(AssetDto assetDto, AssetChangeType changeType) {
         Asset entity = AssetMapper.INSTANCE.assetDtoToAsset(assetDto);
-        assetRepository.save(entity);
+        Asset saved = assetRepository.saveAndFlush(entity);
+        assetOutboxRepository.append(changeType, List.of(saved));
     }
 
     @Override
+    @CacheEvict(cacheNames = ASSETS_BY_NAME_CACHE, allEntries = true)
+    public AssetsBatchResponse addAssets(Iterator<AssetDto> assets, int chunkSize) {
+        List<AssetsBatchChunkResult> chunks = new ArrayList<>();
+        int received = 0;
+        int created = 0;
+
+        List<AssetDto> chunk = new ArrayList<>(chunkSize);
+        boolean hasMore = true;
+        while (hasMore) {
+            AssetsBatchItemError malformedInput = null;
+            try {
+                hasMore = assets.hasNext();
+                if (hasMore) {
+                    chunk.add(assets.next());
+                }
+            } catch (RuntimeException e) {
+                // The rest of the body can't be parsed reliably, so flush what we have and stop.
+                hasMore = false;
+                malformedInput = new AssetsBatchItemError(received + chunk.size(), e.getMessage(), MALFORMED_INPUT);
+            }
+
+            if (chunk.size() == chunkSize || (!hasMore && (!chunk.isEmpty() || malformedInput != null))) {
+                AssetsBatchChunkResult result = addChunk(chunks.size(), received, chunk, malformedInput);
+                chunks.add(result);
+                received += chunk.size();
+                created += result.created();
+                log.info("Asset batch chunk {} processed: {} created, {} errors, {} received so far",
+                        result.chunk(), result.created(), result.errors().size(), received);
+                chunk.clear();
+            }
+        }
+
+        return new AssetsBatchResponse(received, created, received - created, chunks);
+    }
+
+    // Each chunk runs in its own transaction, so Envers records a single revision for the whole chunk
+    // and a failure only rolls back the chunk it happened in.
+    private AssetsBatchChunkResult addChunk(int index, int offset, List<AssetDto> chunk, AssetsBatchItemError malformedInput) {
+        List<AssetsBatchItemError> errors = new ArrayList<>();
+        List<Asset> entities = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Set<ConstraintViolation<AssetDto>> violations = validator.validate(chunk.get(i));
+            if (violations.isEmpty()) {
+                Asset entity = AssetMapper.INSTANCE.assetDtoToAsset(chunk.get(i));
+                entity.setAssetId(null);
+                entities.add(entity);
+            } else {
+                errors.add(new AssetsBatchItemError(offset + i, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")), INVALID_ASSET));
+            }
+        }
+        if (malformedInput != null) {
+            errors.add(malformedInput);
+        }
+
+        int created = 0;
+        if (!entities.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    assetRepository.saveAll(entities);
+                    assetRepository.flush();
+                    assetOutboxRepository.append(AssetChangeType.CREATED, entities);
+                });
+                created = entities.size();
+            } catch (RuntimeException e) {
+                log.warn("Asset batch chunk {} rolled back", index, e);
+                errors.add(new AssetsBatchItemError(null, e.getMessage(), CHUNK_FAILED));
+            } finally {
+                // Keep the persistence context from growing across chunks when it outlives the transaction.
+                entityManager.clear();
+            }
+        }
+        return new AssetsBatchChunkResult(index, offset, chunk.size(), created, errors);
+    }
+
+    @Override
+    @Cacheable(cacheNames = ASSETS_BY_NAME_CACHE, key = "#name", unless = "#result == null")
     public AssetDto findByName(String name) {
         Asset asset = assetRepository.findByName(name);
         return AssetMapper.INSTANCE.assetToAssetDto(asset);
     }
 
     @Override
+    @Cacheable(cacheNames = ASSETS_BY_ID_CACHE, key = "#assetId", unless = "#result == null")
     public AssetDto findById(Integer assetId) {
         return assetRepository.findById(assetId)
                 .map(AssetMapper.INSTANCE::assetToAssetDto)
@@ -54,21 +194,119 @@ public class AssetServiceImpl implements AssetService {
                         .toList(), pageable, assetPage.getTotalElements());
     }
 
+    @Override
+    public Page<AssetDto> search(AssetSearchCriteria criteria, Pageable pageable) {
+        return assetRepository.findAll(AssetSpecifications.matching(criteria), pageable)
+                .map(AssetMapper.INSTANCE::assetToAssetDto);
+    }
+
+    @Override
+    public AssetsCursorResponse findAll(String after, int size, boolean withTotal) {
+        Integer lastSeenId = after == null || after.isEmpty() ? 0 : AssetCursor.decode(after);
+        // One extra row tells us whether there is a next page without issuing a count query.
+        List<Asset> assets = assetRepository.findByAssetIdGreaterThanOrderByAssetIdAsc(lastSeenId, Limit.of(size + 1));
+
+        boolean hasNext = assets.size() > size;
+        List<Asset> content = hasNext ? assets.subList(0, size) : assets;
+        String next = hasNext ? AssetCursor.encode(content.get(content.size() - 1).getAssetId()) : null;
+        Long totalElements = withTotal ? assetRepository.count() : null;
+
+        return new AssetsCursorResponse(content.stream()
+                .map(AssetMapper.INSTANCE::assetToAssetDto)
+                .toList(), next, totalElements);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<AssetDto> consumer) {
+        try (Stream<Asset> assets = assetRepository.streamAllByOrderByAssetIdAsc()) {
+            assets.forEach(asset -> {
+                consumer.accept(AssetMapper.INSTANCE.assetToAssetDto(asset));
+                // Detach right away, so the persistence context doesn't grow with the table.
+                entityManager.detach(asset);
+            });
+        }
+    }
+
+    // The previous name of an updated or deleted asset isn't known here, so the by-name cache is cleared entirely.
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = ASSETS_BY_ID_CACHE, key = "#assetId"),
+            @CacheEvict(cacheNames = ASSETS_BY_NAME_CACHE, allEntries = true)
+    })
+    @Transactional
     public void deleteById(Integer assetId) {
-        assetRepository.deleteById(assetId);
+        assetRepository.findById(assetId).ifPresent(asset -> {
+            assetRepository.delete(asset);
+            assetRepository.flush();
+            assetOutboxRepository.append(AssetChangeType.DELETED, List.of(asset));
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AssetRevisionsResponse findRevisions(Integer assetId, String after, int size) {
+        Integer lastSeenRevision = after == null || after.isEmpty() ? 0 : RevisionCursor.decode(after);
+        @SuppressWarnings("unchecked")
+        List<Object[]> revisions = AuditReaderFactory.get(entityManager).createQuery()
+                .forRevisionsOfEntity(Asset.class, false, true)
+                .add(AuditEntity.id().eq(assetId))
+                .add(AuditEntity.revisionNumber().gt(lastSeenRevision))
+                .addOrder(AuditEntity.revisionNumber().asc())
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = revisions.size() > size;
+        List<AssetRevisionDto> content = revisions.stream()
+                .limit(size)
+                .map(revision -> {
+                    Asset asset = (Asset) revision[0];
+                    RevisionAudit revisionAudit = (RevisionAudit) revision[1];
+                    RevisionType revisionType = (RevisionType) revision[2];
+                    return new AssetRevisionDto(revisionAudit.getRevisionId(), revisionAudit.getTimestamp(),
+                            revisionType.name(), AssetMapper.INSTANCE.assetToAssetDto(asset));
+                })
+                .toList();
+        String next = hasNext ? RevisionCursor.encode(content.get(content.size() - 1).revisionId()) : null;
+        return new AssetRevisionsResponse(content, next);
+    }
+
+    @Override
+    public AssetsResponse findByUserId(Integer userId, String after, int size) throws AssetNotFoundException {
+        boolean firstPage = after == null || after.isEmpty();
+        Integer lastSeenId = firstPage ? 0 : AssetCursor.decode(after);
+        List<Asset> assets = assetRepository.findByUserIdAndAssetIdGreaterThanOrderByAssetIdAsc(userId, lastSeenId, Limit.of(size + 1));
+        if (firstPage && assets.isEmpty()) {
+            throw new AssetNotFoundException();
+        }
+
+        boolean hasNext = assets.size() > size;
+        List<Asset> content = hasNext ? assets.subList(0, size) : assets;
+        String next = hasNext ? AssetCursor.encode(content.get(content.size() - 1).getAssetId()) : null;
+        return new AssetsResponse(content.stream()
+                .map(AssetMapper.INSTANCE::assetToAssetDto)
+                .toList(), next);
     }
 
     @Override
-    public AssetsResponse findByUserId(Integer userId) throws AssetNotFoundException {
-        Asset asset = Optional.ofNullable(assetRepository.findByUserId(userId))
-                .orElseThrow(AssetNotFoundException::new);
-        return new AssetsResponse(List.of(AssetMapper.INSTANCE.assetToAssetDto(asset)));
+    public UsersAssetsResponse findByUserIds(Set<Integer> userIds) {
+        // Every requested user gets an entry, so callers can tell "no assets" from "not asked for".
+        Map<Integer, List<AssetDto>> assetsByUser = new LinkedHashMap<>();
+        userIds.stream().sorted().forEach(userId -> assetsByUser.put(userId, new ArrayList<>()));
+        assetRepository.findByUserIdInOrderByUserIdAscAssetIdAsc(userIds)
+                .forEach(asset -> assetsByUser.get(asset.getUserId()).add(AssetMapper.INSTANCE.assetToAssetDto(asset)));
+        return new UsersAssetsResponse(assetsByUser);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = ASSETS_BY_ID_CACHE, key = "#assetDto.assetId()"),
+            @CacheEvict(cacheNames = ASSETS_BY_NAME_CACHE, allEntries = true)
+    })
+    @Transactional
     public void updateAsset(AssetDto assetDto) throws AssetNotFoundException {
         if (assetRepository.findById(assetDto.assetId()).isPresent()) {
-            addAsset(assetDto);
+            save(assetDto, AssetChangeType.UPDATED);
         } else {
             throw new AssetNotFoundException();
         }
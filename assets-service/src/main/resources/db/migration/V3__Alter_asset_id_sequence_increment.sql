@@ -0,0 +1,3 @@
+-- Matches the allocationSize of the Asset id generator, so Hibernate's pooled optimizer
+-- can hand out 50 ids per nextval round trip.
+ALTER SEQUENCE asset_id_sequence INCREMENT BY 50;
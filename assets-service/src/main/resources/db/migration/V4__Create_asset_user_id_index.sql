@@ -0,0 +1,2 @@
+-- Serves per-user lookups and their keyset paging (user_id = ? AND asset_id > ? ORDER BY asset_id).
+CREATE INDEX asset_user_id_asset_id_idx ON asset (user_id, asset_id);
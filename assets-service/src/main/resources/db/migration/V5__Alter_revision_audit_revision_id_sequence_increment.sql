@@ -0,0 +1,3 @@
+-- Matches the pooled allocationSize of RevisionAudit, so writing a batch of revisions
+-- doesn't cost a nextval round trip per revision.
+ALTER SEQUENCE revision_audit_revision_id_sequence INCREMENT BY 50;
@@ -0,0 +1,2 @@
+-- Lets one asset's history be read (and keyset paged by revision) without scanning the whole audit table.
+CREATE INDEX asset_audit_asset_id_revision_id_idx ON asset_audit (asset_id, revision_id);
@@ -0,0 +1,5 @@
+-- "assets of user X in status S [of type T]"
+CREATE INDEX asset_user_id_status_asset_type_idx ON asset (user_id, status, asset_type);
+
+-- "all assets of type T in status S [created in a range]"
+CREATE INDEX asset_asset_type_status_created_idx ON asset (asset_type, status, created);
@@ -0,0 +1,17 @@
+-- Asset change events written in the transaction of the change and relayed to consumers by AssetOutboxRelay.
+-- Ids double as event ids, so they are handed out one by one: a pooled block per instance would break their order.
+CREATE SEQUENCE asset_outbox_id_sequence;
+
+CREATE TABLE asset_outbox
+(
+    id              BIGINT DEFAULT nextval('asset_outbox_id_sequence') PRIMARY KEY,
+    event_type      VARCHAR(32)  NOT NULL,
+    asset_id        INT          NOT NULL,
+    payload         TEXT         NOT NULL,
+    created         TIMESTAMP    NOT NULL,
+    attempts        INT          NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP    NOT NULL,
+    last_error      VARCHAR(1024)
+);
+
+CREATE INDEX asset_outbox_next_attempt_at_id_index ON asset_outbox (next_attempt_at, id);
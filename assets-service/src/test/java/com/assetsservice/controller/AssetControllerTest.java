@@ -3,10 +3,14 @@ package com.assetsservice.controller;
 import com.assetsservice.model.db.Asset;
 import com.assetsservice.repository.AssetRepository;
 import com.assetsservice.model.dto.AssetDto;
+import com.assetsservice.model.dto.AssetRevisionDto;
 import com.assetsservice.model.enumtype.AssetStatus;
 import com.assetsservice.model.enumtype.AssetType;
+import com.assetsservice.model.response.AssetRevisionsResponse;
+import com.assetsservice.model.response.AssetsCursorResponse;
 import com.assetsservice.model.response.AssetsResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,19 +20,34 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
 
+import static com.assetsservice.config.CacheConfiguration.ASSETS_BY_ID_CACHE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -48,12 +67,22 @@ class AssetControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @SpyBean
     private AssetRepository assetRepository;
 
     @BeforeEach
     public void setUp() {
         assetRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
     }
 
     @Test
@@ -76,6 +105,60 @@ class AssetControllerTest {
         assertThat(savedAsset.get(0).getAssetType()).isEqualTo(asset.getAssetType());
     }
 
+    @Test
+    void shouldSaveAssetsInBatch_AndReportInvalidItems() throws Exception {
+        // given
+        List<AssetDto> assets = List.of(
+                new AssetDto(null, "device1", AssetType.LAPTOP, AssetStatus.AVAILABLE, null),
+                new AssetDto(null, "device2", AssetType.MONITOR, AssetStatus.IN_USE, USER_ID),
+                new AssetDto(null, null, AssetType.MONITOR, AssetStatus.IN_USE, USER_ID),
+                new AssetDto(null, "device4", AssetType.HEADPHONES, AssetStatus.BROKEN, null));
+
+        // when
+        ResultActions result = mockMvc.perform(post("/assets/batch")
+                .content(objectMapper.writeValueAsString(assets))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", Matchers.equalTo(4)))
+                .andExpect(jsonPath("$.created", Matchers.equalTo(3)))
+                .andExpect(jsonPath("$.failed", Matchers.equalTo(1)))
+                .andExpect(jsonPath("$.chunks", hasSize(1)))
+                .andExpect(jsonPath("$.chunks[0].errors[0].index", Matchers.equalTo(2)))
+                .andExpect(jsonPath("$.chunks[0].errors[0].code", Matchers.equalTo("INVALID_ASSET")));
+        assertThat(assetRepository.findAll()).extracting(Asset::getName)
+                .containsExactlyInAnyOrder("device1", "device2", "device4");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldSaveAssetsInBatch_FromNdjson_WithOneRevisionPerChunk() throws Exception {
+        // given
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            body.append(objectMapper.writeValueAsString(
+                    new AssetDto(null, "device" + i, AssetType.LAPTOP, AssetStatus.AVAILABLE, null))).append('\n');
+        }
+        Integer revisionsBefore = jdbcTemplate.queryForObject("SELECT count(*) FROM revision_audit", Integer.class);
+
+        // when
+        ResultActions result = mockMvc.perform(post("/assets/batch")
+                .param("chunkSize", "2")
+                .content(body.toString())
+                .contentType(MediaType.APPLICATION_NDJSON));
+
+        // then
+        result.andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created", Matchers.equalTo(5)))
+                .andExpect(jsonPath("$.chunks", hasSize(3)))
+                .andExpect(jsonPath("$.chunks[2].offset", Matchers.equalTo(4)))
+                .andExpect(jsonPath("$.chunks[2].size", Matchers.equalTo(1)));
+        assertThat(assetRepository.count()).isEqualTo(5);
+        Integer revisionsAfter = jdbcTemplate.queryForObject("SELECT count(*) FROM revision_audit", Integer.class);
+        assertThat(revisionsAfter - revisionsBefore).isEqualTo(3);
+    }
+
     @Test
     void shouldReturnAssets_IfAnyExists_WhenDefaultPaginationIsApplied() throws Exception {
         // given
@@ -135,6 +218,130 @@ class AssetControllerTest {
                 .andExpect(jsonPath("$.numberOfElements", Matchers.equalTo(1)));
     }
 
+    @Test
+    void shouldSearchAssets_ByTypeStatusUserAndNamePrefix() throws Exception {
+        // given
+        assetRepository.saveAll(List.of(
+                Asset.builder().name("laptop-1").assetType(AssetType.LAPTOP).status(AssetStatus.IN_USE).userId(USER_ID).build(),
+                Asset.builder().name("laptop-2").assetType(AssetType.LAPTOP).status(AssetStatus.IN_USE).userId(USER_ID).build(),
+                Asset.builder().name("laptop-3").assetType(AssetType.LAPTOP).status(AssetStatus.BROKEN).userId(USER_ID).build(),
+                Asset.builder().name("monitor-1").assetType(AssetType.MONITOR).status(AssetStatus.IN_USE).userId(USER_ID).build(),
+                Asset.builder().name("laptop-4").assetType(AssetType.LAPTOP).status(AssetStatus.IN_USE).userId(USER_ID + 1).build()));
+
+        // when
+        ResultActions result = mockMvc.perform(get("/assets/search")
+                .param("assetType", "LAPTOP")
+                .param("status", "IN_USE")
+                .param("userId", String.valueOf(USER_ID))
+                .param("namePrefix", "lap"));
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", Matchers.equalTo(2)))
+                .andExpect(jsonPath("$.content[*].name", containsInAnyOrder("laptop-1", "laptop-2")));
+    }
+
+    @Test
+    void shouldSearchAssets_ByCreatedRange() throws Exception {
+        // given
+        assetRepository.save(buildAvailableAsset());
+        LocalDateTime now = LocalDateTime.now();
+
+        // when
+        ResultActions inRange = mockMvc.perform(get("/assets/search")
+                .param("createdFrom", now.minusHours(1).toString())
+                .param("createdTo", now.plusHours(1).toString()));
+        ResultActions outOfRange = mockMvc.perform(get("/assets/search")
+                .param("createdTo", now.minusHours(1).toString()));
+
+        // then
+        inRange.andExpect(jsonPath("$.content", hasSize(1)));
+        outOfRange.andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    void shouldReturnAssets_WalkingAllPagesByCursor() throws Exception {
+        // given
+        List<Asset> assets = new ArrayList<>();
+        IntStream.range(0, 5).forEach(value -> assets.add(buildAvailableAsset()));
+        assetRepository.saveAll(assets);
+
+        // when
+        List<Integer> assetIds = new ArrayList<>();
+        String next = null;
+        int pages = 0;
+        do {
+            var request = get("/assets/cursor").param("size", "2");
+            if (next != null) {
+                request.param("after", next);
+            }
+            AssetsCursorResponse response = objectMapper.readValue(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andReturn().getResponse().getContentAsString(), AssetsCursorResponse.class);
+            response.assets().forEach(asset -> assetIds.add(asset.assetId()));
+            next = response.next();
+            pages++;
+        } while (next != null);
+
+        // then
+        assertThat(pages).isEqualTo(3);
+        assertThat(assetIds).containsExactlyElementsOf(assets.stream().map(Asset::getAssetId).sorted().toList());
+        verify(assetRepository, never()).count();
+    }
+
+    @Test
+    void shouldReturnTotalElements_IfCountIsRequestedInCursorMode() throws Exception {
+        // given
+        assetRepository.saveAll(List.of(buildAvailableAsset(), buildAvailableAsset(), buildAvailableAsset()));
+
+        // when
+        ResultActions result = mockMvc.perform(get("/assets/cursor")
+                .param("size", "2")
+                .param("count", "true"));
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.assets", hasSize(2)))
+                .andExpect(jsonPath("$.next", notNullValue()))
+                .andExpect(jsonPath("$.totalElements", Matchers.equalTo(3)));
+    }
+
+    @Test
+    void shouldReturnError_IfCursorIsMalformed() throws Exception {
+        // when
+        ResultActions result = mockMvc.perform(get("/assets/cursor").param("after", "not-a-cursor"));
+
+        // then
+        result.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[*].code", hasItem("INVALID_CURSOR")));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldExportAllAssetsAsNdjson_InSingleQuery() throws Exception {
+        // given
+        List<Asset> assets = new ArrayList<>();
+        IntStream.range(0, 25).forEach(value -> assets.add(buildAvailableAsset()));
+        assetRepository.saveAll(assets);
+
+        // when
+        MvcResult asyncResult = mockMvc.perform(get("/assets/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions result = mockMvc.perform(asyncDispatch(asyncResult));
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+        List<String> lines = result.andReturn().getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(25);
+        assertThat(objectMapper.readValue(lines.get(0), AssetDto.class).assetId())
+                .isEqualTo(assets.get(0).getAssetId());
+        verify(assetRepository, times(1)).streamAllByOrderByAssetIdAsc();
+        verify(assetRepository, never()).findAll(any(Pageable.class));
+    }
+
     @Test
     void shouldNotReturnAsset_IfDoesNotExist() throws Exception {
         // given
@@ -166,6 +373,124 @@ class AssetControllerTest {
         assertThat(asset.name()).isEqualTo(asset2.getName());
     }
 
+    @Test
+    void shouldServeRepeatedAssetLookupsFromCache_UntilAssetIsUpdated() throws Exception {
+        // given
+        Asset asset = assetRepository.save(buildAvailableAsset());
+        double hitsBefore = meterRegistry.get("cache.gets")
+                .tags("cache", ASSETS_BY_ID_CACHE, "result", "hit")
+                .functionCounter().count();
+
+        // when
+        mockMvc.perform(get("/assets/" + asset.getAssetId())).andExpect(status().isOk());
+        mockMvc.perform(get("/assets/" + asset.getAssetId())).andExpect(status().isOk());
+        mockMvc.perform(put("/assets")
+                        .content(objectMapper.writeValueAsString(
+                                new AssetDto(asset.getAssetId(), "renamed", AssetType.LAPTOP, AssetStatus.IN_USE, USER_ID)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        ResultActions result = mockMvc.perform(get("/assets/" + asset.getAssetId()));
+
+        // then
+        result.andExpect(jsonPath("$.name", Matchers.equalTo("renamed")));
+        // the update itself loads the asset once, both other repository reads are cache misses
+        verify(assetRepository, times(3)).findById(asset.getAssetId());
+        assertThat(meterRegistry.get("cache.gets")
+                .tags("cache", ASSETS_BY_ID_CACHE, "result", "hit")
+                .functionCounter().count() - hitsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotServeCachedAsset_AfterItIsOverwrittenByPost() throws Exception {
+        // given
+        Asset asset = assetRepository.save(buildAvailableAsset());
+        mockMvc.perform(get("/assets/" + asset.getAssetId())).andExpect(status().isOk());
+
+        // when
+        mockMvc.perform(post("/assets")
+                        .content(objectMapper.writeValueAsString(
+                                new AssetDto(asset.getAssetId(), "overwritten", AssetType.LAPTOP, AssetStatus.IN_USE, USER_ID)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+        ResultActions result = mockMvc.perform(get("/assets/" + asset.getAssetId()));
+
+        // then
+        result.andExpect(jsonPath("$.name", Matchers.equalTo("overwritten")));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldEvictCachedAsset_OnlyAfterUpdateIsCommitted() throws Exception {
+        // given
+        Asset asset = assetRepository.save(buildAvailableAsset());
+        mockMvc.perform(get("/assets/" + asset.getAssetId())).andExpect(status().isOk());
+        List<Boolean> transactionActiveOnEvict = new ArrayList<>();
+        Cache assetsById = spy(cacheManager.getCache(ASSETS_BY_ID_CACHE));
+        doAnswer(invocation -> {
+            transactionActiveOnEvict.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.callRealMethod();
+        }).when(assetsById).evict(any());
+        doReturn(assetsById).when(cacheManager).getCache(ASSETS_BY_ID_CACHE);
+
+        // when
+        mockMvc.perform(put("/assets")
+                        .content(objectMapper.writeValueAsString(
+                                new AssetDto(asset.getAssetId(), "renamed", AssetType.LAPTOP, AssetStatus.IN_USE, USER_ID)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // then
+        assertThat(transactionActiveOnEvict).containsExactly(false);
+        mockMvc.perform(get("/assets/" + asset.getAssetId()))
+                .andExpect(jsonPath("$.name", Matchers.equalTo("renamed")));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldReturnAssetRevisions_PageByPage() throws Exception {
+        // given
+        Asset asset = assetRepository.save(buildAvailableAsset());
+        asset.setStatus(AssetStatus.IN_USE);
+        assetRepository.save(asset);
+        asset.setStatus(AssetStatus.BROKEN);
+        assetRepository.save(asset);
+
+        // when
+        AssetRevisionsResponse firstPage = objectMapper.readValue(mockMvc.perform(get("/assets/" + asset.getAssetId() + "/revisions")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), AssetRevisionsResponse.class);
+        ResultActions secondPage = mockMvc.perform(get("/assets/" + asset.getAssetId() + "/revisions")
+                .param("size", "2")
+                .param("after", firstPage.next()));
+
+        // then
+        assertThat(firstPage.revisions()).extracting(AssetRevisionDto::revisionType).containsExactly("ADD", "MOD");
+        assertThat(firstPage.revisions()).extracting(revision -> revision.asset().status())
+                .containsExactly(AssetStatus.AVAILABLE, AssetStatus.IN_USE);
+        secondPage.andExpect(status().isOk())
+                .andExpect(jsonPath("$.revisions", hasSize(1)))
+                .andExpect(jsonPath("$.revisions[0].asset.status", Matchers.equalTo("BROKEN")))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnError_IfRevisionCursorIsAnAssetListCursor() throws Exception {
+        // given
+        Asset asset = assetRepository.save(buildAvailableAsset());
+        assetRepository.save(buildAvailableAsset());
+        String assetListCursor = objectMapper.readValue(mockMvc.perform(get("/assets/cursor").param("size", "1"))
+                .andReturn().getResponse().getContentAsString(), AssetsCursorResponse.class).next();
+
+        // when
+        ResultActions result = mockMvc.perform(get("/assets/" + asset.getAssetId() + "/revisions")
+                .param("after", assetListCursor));
+
+        // then
+        result.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[*].code", hasItem("INVALID_CURSOR")));
+    }
+
     @Test
     void shouldNotDeleteAsset_IfNotFoundByAssetId() throws Exception {
         // given
@@ -236,6 +561,79 @@ class AssetControllerTest {
         assertThat(assetDto.assetType()).isEqualTo(asset.getAssetType());
     }
 
+    @Test
+    void shouldReturnNotModified_IfUserAssetsEtagMatches() throws Exception {
+        // given
+        assetRepository.save(Asset.builder()
+                .name("device1")
+                .assetType(AssetType.LAPTOP)
+                .status(AssetStatus.IN_USE)
+                .userId(USER_ID)
+                .build());
+        String etag = mockMvc.perform(get("/assets/users/" + USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        ResultActions result = mockMvc.perform(get("/assets/users/" + USER_ID).header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        // then
+        result.andExpect(status().isNotModified())
+                .andExpect(content().string(is(emptyString())));
+    }
+
+    @Test
+    void shouldReturnAllAssetsBelongToUser_PageByPage() throws Exception {
+        // given
+        List<Asset> userAssets = new ArrayList<>();
+        IntStream.range(0, 3).forEach(value -> userAssets.add(Asset.builder()
+                .name("device" + value)
+                .assetType(AssetType.LAPTOP)
+                .status(AssetStatus.IN_USE)
+                .userId(USER_ID)
+                .build()));
+        assetRepository.saveAll(userAssets);
+        assetRepository.save(buildAvailableAsset());
+
+        // when
+        AssetsResponse firstPage = objectMapper.readValue(mockMvc.perform(get("/assets/users/" + USER_ID).param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), AssetsResponse.class);
+        AssetsResponse secondPage = objectMapper.readValue(mockMvc.perform(get("/assets/users/" + USER_ID)
+                        .param("size", "2")
+                        .param("after", firstPage.next()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.next").doesNotExist())
+                .andReturn().getResponse().getContentAsString(), AssetsResponse.class);
+
+        // then
+        assertThat(firstPage.assets()).hasSize(2);
+        assertThat(secondPage.assets()).hasSize(1);
+        assertThat(firstPage.assets().stream().map(AssetDto::name)).containsExactly("device0", "device1");
+        assertThat(secondPage.assets().get(0).name()).isEqualTo("device2");
+    }
+
+    @Test
+    void shouldReturnAssetsGroupedByUser_ForManyUsersInOneQuery() throws Exception {
+        // given
+        assetRepository.saveAll(List.of(
+                Asset.builder().name("device1").assetType(AssetType.LAPTOP).status(AssetStatus.IN_USE).userId(USER_ID).build(),
+                Asset.builder().name("device2").assetType(AssetType.MONITOR).status(AssetStatus.IN_USE).userId(USER_ID).build(),
+                Asset.builder().name("device3").assetType(AssetType.HEADPHONES).status(AssetStatus.IN_USE).userId(USER_ID + 1).build()));
+
+        // when
+        ResultActions result = mockMvc.perform(get("/assets/users")
+                .param("userIds", String.valueOf(USER_ID), String.valueOf(USER_ID + 1), String.valueOf(USER_ID_WITHOUT_ASSETS)));
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.users['" + USER_ID + "']", hasSize(2)))
+                .andExpect(jsonPath("$.users['" + (USER_ID + 1) + "'][0].name", Matchers.equalTo("device3")))
+                .andExpect(jsonPath("$.users['" + USER_ID_WITHOUT_ASSETS + "']", hasSize(0)));
+        verify(assetRepository, times(1)).findByUserIdInOrderByUserIdAscAssetIdAsc(any());
+    }
+
     private Asset buildAvailableAsset() {
         return Asset.builder()
                 .name("device1")
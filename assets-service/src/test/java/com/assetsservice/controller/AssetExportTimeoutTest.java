@@ -0,0 +1,54 @@
+package com.assetsservice.controller;
+
+import com.assetsservice.model.dto.AssetDto;
+import com.assetsservice.model.enumtype.AssetStatus;
+import com.assetsservice.model.enumtype.AssetType;
+import com.assetsservice.service.AssetService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+// Runs against a real Tomcat, as MockMvc never fires async timeouts.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.mvc.async.request-timeout=200ms")
+class AssetExportTimeoutTest {
+
+    private static final int ASSETS = 10;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @MockBean
+    private AssetService assetService;
+
+    @Test
+    void shouldExportAllAssets_EvenIfExportOutlastsAsyncRequestTimeout() {
+        // given
+        // 10 x 50ms is well past the 200ms async request timeout
+        doAnswer(invocation -> {
+            Consumer<AssetDto> consumer = invocation.getArgument(0);
+            for (int i = 1; i <= ASSETS; i++) {
+                Thread.sleep(50);
+                consumer.accept(new AssetDto(i, "device" + i, AssetType.LAPTOP, AssetStatus.AVAILABLE, null));
+            }
+            return null;
+        }).when(assetService).streamAll(any());
+
+        // when
+        ResponseEntity<String> response = restTemplate.getForEntity("/assets/export", String.class);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().lines()).hasSize(ASSETS);
+    }
+}
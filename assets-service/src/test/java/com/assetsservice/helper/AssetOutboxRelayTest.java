@@ -0,0 +1,232 @@
+package com.assetsservice.helper;
+
+import com.assetsservice.model.dto.AssetDto;
+import com.assetsservice.model.enumtype.AssetChangeType;
+import com.assetsservice.model.enumtype.AssetStatus;
+import com.assetsservice.model.enumtype.AssetType;
+import com.assetsservice.model.event.AssetChangeEvent;
+import com.assetsservice.repository.AssetOutboxRepository;
+import com.assetsservice.repository.AssetRepository;
+import com.assetsservice.service.AssetService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@RecordApplicationEvents
+class AssetOutboxRelayTest {
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssetOutboxRepository assetOutboxRepository;
+
+    @Autowired
+    private AssetOutboxRelay assetOutboxRelay;
+
+    @Autowired
+    private FailingSink failingSink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @AfterEach
+    public void tearDown() {
+        failingSink.failing.set(false);
+        assetRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM asset_outbox");
+    }
+
+    @Test
+    void shouldWriteOutboxEvents_InTheTransactionOfEachAssetChange() throws Exception {
+        // given
+        assetService.addAsset(buildAsset(null, "device1"));
+        Integer assetId = assetRepository.findByName("device1").getAssetId();
+
+        // when
+        assetService.updateAsset(buildAsset(assetId, "renamed"));
+        assetService.deleteById(assetId);
+
+        // then
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT event_type, payload FROM asset_outbox WHERE asset_id = ? ORDER BY id", assetId);
+        assertThat(rows).extracting(row -> row.get("EVENT_TYPE")).containsExactly("CREATED", "UPDATED", "DELETED");
+        assertThat((String) rows.get(1).get("PAYLOAD")).contains("\"name\":\"renamed\"");
+    }
+
+    @Test
+    void shouldWriteUpdatedEvent_IfPostOverwritesExistingAsset() {
+        // given
+        assetService.addAsset(buildAsset(null, "device1"));
+        Integer assetId = assetRepository.findByName("device1").getAssetId();
+
+        // when
+        assetService.addAsset(buildAsset(assetId, "overwritten"));
+
+        // then
+        assertThat(jdbcTemplate.queryForList("SELECT event_type FROM asset_outbox WHERE asset_id = ? ORDER BY id", String.class, assetId))
+                .containsExactly("CREATED", "UPDATED");
+    }
+
+    @Test
+    void shouldDeliverEventsToSinks_AndRemoveThemFromOutbox() {
+        // given
+        assetService.addAsset(buildAsset(null, "device1"));
+        double deliveredBefore = meterRegistry.get("asset.outbox.events.delivered").counter().count();
+
+        // when
+        int relayed = assetOutboxRelay.relayBatch();
+
+        // then
+        assertThat(relayed).isEqualTo(1);
+        assertThat(applicationEvents.stream(AssetChangeEvent.class).toList())
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.type()).isEqualTo(AssetChangeType.CREATED);
+                    assertThat(event.asset().name()).isEqualTo("device1");
+                    assertThat(event.eventId()).isNotNull();
+                });
+        assertThat(assetOutboxRepository.count()).isZero();
+        assertThat(meterRegistry.get("asset.outbox.events.delivered").counter().count() - deliveredBefore).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRescheduleEventsWithBackoff_IfSinkFails() {
+        // given
+        failingSink.failing.set(true);
+        assetService.addAsset(buildAsset(null, "device1"));
+
+        // when
+        int firstAttempt = assetOutboxRelay.relayBatch();
+        int secondAttempt = assetOutboxRelay.relayBatch();
+
+        // then
+        assertThat(firstAttempt).isEqualTo(1);
+        assertThat(secondAttempt).isZero();
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT attempts, next_attempt_at, last_error FROM asset_outbox");
+        assertThat(row.get("ATTEMPTS")).isEqualTo(1);
+        assertThat(((Timestamp) row.get("NEXT_ATTEMPT_AT")).toLocalDateTime()).isAfter(LocalDateTime.now());
+        assertThat(row.get("LAST_ERROR")).isEqualTo("sink unavailable");
+        assertThat(meterRegistry.get("asset.outbox.delivery.failures").tag("sink", "failing").counter().count()).isPositive();
+    }
+
+    @Test
+    void shouldDeliverRestOfBatch_AndRescheduleEvent_IfItsPayloadCantBeRead() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO asset_outbox (event_type, asset_id, payload, created, next_attempt_at) VALUES (?, ?, ?, ?, ?)",
+                "CREATED", 1, "not json", now, now);
+        assetService.addAsset(buildAsset(null, "device1"));
+
+        // when
+        int relayed = assetOutboxRelay.relayBatch();
+
+        // then
+        assertThat(relayed).isEqualTo(2);
+        assertThat(applicationEvents.stream(AssetChangeEvent.class).toList())
+                .singleElement()
+                .satisfies(event -> assertThat(event.asset().name()).isEqualTo("device1"));
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT payload, attempts, next_attempt_at, last_error FROM asset_outbox");
+        assertThat(row.get("PAYLOAD")).isEqualTo("not json");
+        assertThat(row.get("ATTEMPTS")).isEqualTo(1);
+        assertThat(((Timestamp) row.get("NEXT_ATTEMPT_AT")).toLocalDateTime()).isAfter(LocalDateTime.now());
+        assertThat(row.get("LAST_ERROR")).isNotNull();
+        assertThat(meterRegistry.get("asset.outbox.events.unreadable").counter().count()).isPositive();
+    }
+
+    @Test
+    void shouldSkipEvents_ClaimedByAnotherRelay() throws Exception {
+        // given
+        assetService.addAsset(buildAsset(null, "device1"));
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> otherRelay = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    int count = assetOutboxRepository.claim(now, 100, now.plusSeconds(30)).size();
+                    claimed.countDown();
+                    awaitQuietly(release);
+                    return count;
+                }));
+        assertThat(claimed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        int relayed = assetOutboxRelay.relayBatch();
+
+        // then
+        release.countDown();
+        assertThat(relayed).isZero();
+        assertThat(otherRelay.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AssetDto buildAsset(Integer assetId, String name) {
+        return new AssetDto(assetId, name, AssetType.LAPTOP, AssetStatus.AVAILABLE, 1);
+    }
+
+    @TestConfiguration
+    static class FailingSinkConfiguration {
+
+        @Bean
+        FailingSink failingSink() {
+            return new FailingSink();
+        }
+    }
+
+    static class FailingSink implements AssetEventSink {
+
+        private final AtomicBoolean failing = new AtomicBoolean();
+
+        @Override
+        public String name() {
+            return "failing";
+        }
+
+        @Override
+        public void deliver(List<AssetChangeEvent> events) {
+            if (failing.get()) {
+                throw new IllegalStateException("sink unavailable");
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.assetsservice.helper;
+
+import com.assetsservice.config.AuditProperties;
+import com.assetsservice.model.audit.AuditRow;
+import com.assetsservice.model.audit.PendingRevision;
+import com.assetsservice.model.db.Asset;
+import com.assetsservice.model.enumtype.AssetStatus;
+import com.assetsservice.model.enumtype.AssetType;
+import com.assetsservice.repository.AssetRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+
+@SpringBootTest(properties = {
+        "audit.mode=async",
+        "audit.async.durability=await_write"
+})
+class AsyncAuditWriterTest {
+
+    // Ids no real row uses, so the revisions written directly by the tests below are easy to find and remove.
+    private static final int FIRST_TEST_ID = 900_001;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void tearDown() {
+        assetRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM revision_audit WHERE revision_id IN (SELECT revision_id FROM asset_audit WHERE asset_id >= ?)",
+                FIRST_TEST_ID);
+    }
+
+    @Test
+    void shouldWriteAuditRowsAfterCommit_OneRevisionPerTransaction() {
+        // given
+        Asset asset = assetRepository.save(Asset.builder()
+                .name("device1")
+                .assetType(AssetType.LAPTOP)
+                .status(AssetStatus.AVAILABLE)
+                .build());
+
+        // when
+        asset.setStatus(AssetStatus.IN_USE);
+        assetRepository.save(asset);
+        assetRepository.deleteById(asset.getAssetId());
+
+        // then
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT revision_id, revision_type, name, status FROM asset_audit WHERE asset_id = ? ORDER BY revision_id",
+                asset.getAssetId());
+        assertThat(rows).extracting(row -> row.get("REVISION_TYPE")).containsExactly(0, 1, 2);
+        assertThat(rows).extracting(row -> row.get("STATUS")).containsExactly("AVAILABLE", "IN_USE", null);
+        assertThat(rows).extracting(row -> row.get("REVISION_ID")).doesNotHaveDuplicates();
+        assertThat(meterRegistry.get("audit.revisions.written").counter().count()).isGreaterThanOrEqualTo(3);
+        assertThat(meterRegistry.get("audit.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldHoldCommittingThread_IfQueueStaysFull_AndWriteRevisionsInCommitOrder() throws Exception {
+        // given
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AsyncAuditWriter writer = new AsyncAuditWriter(
+                new AuditProperties.Async(1, 1, Duration.ofMillis(50), Duration.ofMillis(10),
+                        AuditProperties.Durability.BEST_EFFORT, Duration.ofSeconds(5)),
+                entityManager, jdbcTemplate, blockingWriterThread(writerBlocked, release), registry);
+        ExecutorService committer = Executors.newSingleThreadExecutor();
+        writer.start();
+
+        try {
+            // when
+            // the writer takes the first revision and blocks, the second fills the queue, the third has to wait
+            writer.enqueue(revision(FIRST_TEST_ID));
+            assertThat(writerBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+            writer.enqueue(revision(FIRST_TEST_ID + 1));
+            Future<?> third = committer.submit(() -> writer.enqueue(revision(FIRST_TEST_ID + 2)));
+
+            // then
+            waitUntil(() -> registry.get("audit.backpressure.caller.waits").counter().count() == 1);
+            assertThat(third).isNotDone();
+            assertThat(auditedIds()).isEmpty();
+            release.countDown();
+            third.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            writer.stop();
+            committer.shutdownNow();
+        }
+        assertThat(auditedIds()).containsExactly(FIRST_TEST_ID, FIRST_TEST_ID + 1, FIRST_TEST_ID + 2);
+        assertThat(registry.get("audit.revisions.written").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldWriteQueuedRevisions_BeforeThoseCommittedAfterStop() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AsyncAuditWriter writer = new AsyncAuditWriter(
+                new AuditProperties.Async(10, 10, Duration.ofMillis(50), Duration.ofMillis(10),
+                        AuditProperties.Durability.BEST_EFFORT, Duration.ofSeconds(5)),
+                entityManager, jdbcTemplate, transactionManager, registry);
+        writer.start();
+        writer.enqueue(revision(FIRST_TEST_ID));
+
+        // when
+        writer.stop();
+        writer.enqueue(revision(FIRST_TEST_ID + 1));
+
+        // then
+        assertThat(auditedIds()).containsExactly(FIRST_TEST_ID, FIRST_TEST_ID + 1);
+        assertThat(registry.get("audit.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldNotFailCommittedTransaction_IfRevisionIsNotWrittenInTime() throws Exception {
+        // given
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AsyncAuditWriter writer = new AsyncAuditWriter(
+                new AuditProperties.Async(10, 10, Duration.ofMillis(50), Duration.ofMillis(10),
+                        AuditProperties.Durability.AWAIT_WRITE, Duration.ofMillis(100)),
+                entityManager, jdbcTemplate, blockingWriterThread(writerBlocked, release), registry);
+        writer.start();
+
+        try {
+            // when / then
+            assertThatNoException().isThrownBy(() -> writer.enqueue(revision(FIRST_TEST_ID)));
+            assertThat(writerBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(registry.get("audit.await.failed").counter().count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            writer.stop();
+        }
+        assertThat(auditedIds()).containsExactly(FIRST_TEST_ID);
+    }
+
+    private PendingRevision revision(int id) {
+        return new PendingRevision(LocalDateTime.now(), List.of(new AuditRow(
+                "INSERT INTO asset_audit (asset_id, name, revision_id, revision_type) VALUES (?, ?, ?, ?)",
+                new Object[]{id, "name" + id}, 0)));
+    }
+
+    private List<Integer> auditedIds() {
+        return jdbcTemplate.queryForList("SELECT asset_id FROM asset_audit WHERE asset_id >= ? ORDER BY revision_id",
+                Integer.class, FIRST_TEST_ID);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met within 5s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    // Holds the writer thread before its first transaction until release is counted down.
+    private PlatformTransactionManager blockingWriterThread(CountDownLatch writerBlocked, CountDownLatch release) {
+        return new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                if (Thread.currentThread().getName().equals("audit-writer")) {
+                    writerBlocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return transactionManager.getTransaction(definition);
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+                transactionManager.commit(status);
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+                transactionManager.rollback(status);
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.assetsservice.repository;
+
+import com.assetsservice.model.dto.AssetSearchCriteria;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The varchar_pattern_ops index only exists in db/vendor/postgresql, so this runs on a real Postgres
+// and is skipped where Docker isn't available.
+@SpringBootTest(properties = CapturingStatementInspector.PROPERTY)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional
+class AssetNamePrefixIndexTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15.2-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+    }
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldUseNamePatternIndex_WhenSearchingByNamePrefix() {
+        // given
+        // an empty table is cheapest to scan sequentially, so rule that out for this transaction
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        String sql = CapturingStatementInspector.capture(() -> assetRepository.findAll(AssetSpecifications.matching(
+                new AssetSearchCriteria(null, null, null, "device", null, null))));
+
+        // when
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, "device%"));
+
+        // then
+        assertThat(plan).contains("asset_name_pattern_idx");
+    }
+}
@@ -0,0 +1,68 @@
+package com.assetsservice.repository;
+
+import com.assetsservice.model.dto.AssetSearchCriteria;
+import com.assetsservice.model.enumtype.AssetStatus;
+import com.assetsservice.model.enumtype.AssetType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// EXPLAINs the SQL Hibernate generates for AssetSpecifications. The tests run on H2, so this checks that those
+// statements can be answered from the composite indexes, not the exact plans Postgres picks. The Postgres-only
+// name prefix index is covered by AssetNamePrefixIndexTest.
+@SpringBootTest(properties = CapturingStatementInspector.PROPERTY)
+@Transactional
+class AssetSearchIndexTest {
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldUseUserStatusTypeIndex_WhenFilteringUserAssetsByStatusAndType() {
+        // when
+        // parameters are bound in the order AssetSpecifications adds its predicates
+        String plan = explain(new AssetSearchCriteria(AssetType.LAPTOP, AssetStatus.IN_USE, 1, null, null, null),
+                "LAPTOP", "IN_USE", 1);
+
+        // then
+        assertThat(plan).containsIgnoringCase("asset_user_id_status_asset_type_idx");
+    }
+
+    @Test
+    void shouldUseUserStatusTypeIndex_WhenFilteringUserAssetsByStatus() {
+        // when
+        String plan = explain(new AssetSearchCriteria(null, AssetStatus.IN_USE, 1, null, null, null),
+                "IN_USE", 1);
+
+        // then
+        assertThat(plan).containsIgnoringCase("asset_user_id_status_asset_type_idx");
+    }
+
+    @Test
+    void shouldUseTypeStatusCreatedIndex_WhenFilteringByTypeStatusAndCreatedRange() {
+        // given
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        // when
+        String plan = explain(new AssetSearchCriteria(AssetType.LAPTOP, AssetStatus.AVAILABLE, null, null, from, to),
+                "LAPTOP", "AVAILABLE", from, to);
+
+        // then
+        assertThat(plan).containsIgnoringCase("asset_asset_type_status_created_idx");
+    }
+
+    private String explain(AssetSearchCriteria criteria, Object... parameters) {
+        String sql = CapturingStatementInspector.capture(() -> assetRepository.findAll(AssetSpecifications.matching(criteria)));
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+}
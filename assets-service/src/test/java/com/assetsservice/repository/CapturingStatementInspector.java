@@ -0,0 +1,32 @@
+package com.assetsservice.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Records the SQL Hibernate generates, so tests can EXPLAIN the exact statements a Specification turns into.
+// Registered through spring.jpa.properties.hibernate.session_factory.statement_inspector.
+public class CapturingStatementInspector implements StatementInspector {
+
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.assetsservice.repository.CapturingStatementInspector";
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    // Returns the last select issued while running the query.
+    public static String capture(Runnable query) {
+        STATEMENTS.clear();
+        query.run();
+        return STATEMENTS.stream()
+                .filter(sql -> sql.regionMatches(true, 0, "select", 0, "select".length()))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No select was issued"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.benchmarks;
+
+import com.assetsservice.model.db.Asset;
+import com.assetsservice.model.dto.AssetDto;
+import com.assetsservice.model.mapper.AssetMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+// Cost of AssetMapper.INSTANCE on a single asset and on a default-sized (20) page of assets.
+@State(Scope.Benchmark)
+public class AssetMappingBenchmark extends BaseBenchmark {
+
+    private Asset asset;
+    private AssetDto assetDto;
+    private List<Asset> page;
+
+    @Setup
+    public void setUp() {
+        asset = Fixtures.asset(1);
+        assetDto = Fixtures.assetDto(1);
+        page = Fixtures.assets(Fixtures.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public AssetDto assetToAssetDto() {
+        return AssetMapper.INSTANCE.assetToAssetDto(asset);
+    }
+
+    @Benchmark
+    public Asset assetDtoToAsset() {
+        return AssetMapper.INSTANCE.assetDtoToAsset(assetDto);
+    }
+
+    @Benchmark
+    public List<AssetDto> pageOfAssetsToAssetDtos() {
+        return page.stream()
+                .map(AssetMapper.INSTANCE::assetToAssetDto)
+                .toList();
+    }
+}
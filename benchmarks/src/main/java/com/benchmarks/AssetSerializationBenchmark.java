@@ -0,0 +1,39 @@
+package com.benchmarks;
+
+import com.assetsservice.config.SpringConfiguration;
+import com.assetsservice.model.dto.AssetDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+// Serialization of what the assets-service controllers return, with the ObjectMapper they use.
+@State(Scope.Benchmark)
+public class AssetSerializationBenchmark extends BaseBenchmark {
+
+    private ObjectMapper objectMapper;
+    private AssetDto assetDto;
+    private Page<AssetDto> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new SpringConfiguration().objectMapper();
+        assetDto = Fixtures.assetDto(1);
+        page = new PageImpl<>(Fixtures.assetDtos(Fixtures.PAGE_SIZE), PageRequest.of(0, Fixtures.PAGE_SIZE), 1_000_000);
+    }
+
+    @Benchmark
+    public byte[] serializeAssetDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(assetDto);
+    }
+
+    @Benchmark
+    public byte[] serializePageOfAssetDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,58 @@
+package com.benchmarks;
+
+import com.assetsservice.model.response.AssetsResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Decoding of GET /assets/users/{userId} responses the way user-service's Feign SpringDecoder does it:
+// through a MappingJackson2HttpMessageConverter backed by user-service's ObjectMapper.
+@State(Scope.Benchmark)
+public class AssetsResponseDeserializationBenchmark extends BaseBenchmark {
+
+    @Param({"1", "20", "100"})
+    public int assets;
+
+    private MappingJackson2HttpMessageConverter converter;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper userServiceObjectMapper = new com.userservice.config.SpringConfiguration().objectMapper();
+        converter = new MappingJackson2HttpMessageConverter(userServiceObjectMapper);
+        ObjectMapper assetsServiceObjectMapper = new com.assetsservice.config.SpringConfiguration().objectMapper();
+        body = assetsServiceObjectMapper.writeValueAsBytes(new AssetsResponse(Fixtures.assetDtos(assets), null));
+    }
+
+    @Benchmark
+    public Object deserializeAssetsResponse() throws IOException {
+        return converter.read(com.userservice.model.client.response.AssetsResponse.class, inputMessage(body));
+    }
+
+    private static HttpInputMessage inputMessage(byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+}
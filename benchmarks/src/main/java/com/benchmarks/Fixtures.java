@@ -0,0 +1,42 @@
+package com.benchmarks;
+
+import com.assetsservice.model.db.Asset;
+import com.assetsservice.model.dto.AssetDto;
+import com.assetsservice.model.enumtype.AssetStatus;
+import com.assetsservice.model.enumtype.AssetType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+final class Fixtures {
+
+    // Default page size of GET /assets
+    static final int PAGE_SIZE = 20;
+
+    private Fixtures() {
+    }
+
+    static Asset asset(int id) {
+        return Asset.builder()
+                .assetId(id)
+                .name("device" + id)
+                .assetType(AssetType.LAPTOP)
+                .status(AssetStatus.IN_USE)
+                .created(LocalDateTime.of(2024, 1, 1, 10, 0).plusMinutes(id))
+                .userId(id % 100)
+                .build();
+    }
+
+    static AssetDto assetDto(int id) {
+        return new AssetDto(id, "device" + id, AssetType.LAPTOP, AssetStatus.IN_USE, id % 100);
+    }
+
+    static List<Asset> assets(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(Fixtures::asset).toList();
+    }
+
+    static List<AssetDto> assetDtos(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(Fixtures::assetDto).toList();
+    }
+}
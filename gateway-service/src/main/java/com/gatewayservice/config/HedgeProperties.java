@@ -0,0 +1,19 @@
+package com.gatewayservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Settings of the Hedge route filter.
+@ConfigurationProperties(prefix = "hedge")
+public record HedgeProperties(
+        // A GET is hedged once its first attempt took longer than this percentile of the route's first attempts.
+        @DefaultValue("0.95") double percentile,
+        // Lower bound of the hedge delay, also used while a route has no latencies yet.
+        @DefaultValue("10ms") Duration minimumDelay,
+        // Time span the percentile is taken over.
+        @DefaultValue("1m") Duration window,
+        // Hedges per hedgeable request at most, across all routes: 0.1 adds at most 10% load.
+        @DefaultValue("0.1") double budget
+) {}
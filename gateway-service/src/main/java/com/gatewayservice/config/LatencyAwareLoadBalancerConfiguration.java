@@ -0,0 +1,23 @@
+package com.gatewayservice.config;
+
+import com.gatewayservice.helper.InstanceLatencies;
+import com.gatewayservice.helper.LatencyAwareLoadBalancer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+// Load balancer configuration of every service, applied in its own child context. Deliberately not a @Configuration,
+// so it is not picked up by component scanning into the application context.
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "load-balancer", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public LatencyAwareLoadBalancer latencyAwareLoadBalancer(Environment environment, LoadBalancerClientFactory loadBalancerClientFactory,
+                                                             InstanceLatencies instanceLatencies) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LatencyAwareLoadBalancer(loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId, instanceLatencies);
+    }
+}
@@ -0,0 +1,18 @@
+package com.gatewayservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Latency-aware choice of the instance behind lb:// routes; with enabled=false it is Spring Cloud's round-robin.
+@ConfigurationProperties(prefix = "load-balancer")
+public record LoadBalancerProperties(
+        @DefaultValue("true") boolean enabled,
+        // How quickly the latency estimate of an instance follows falling latencies, and fades without traffic.
+        @DefaultValue("10s") Duration decayTime,
+        // Latency a failed call (I/O error or 5xx) counts with, so an instance failing fast doesn't attract traffic.
+        @DefaultValue("1s") Duration failurePenalty,
+        // Calls whose completion isn't reported within this time, e.g. cancelled ones, stop counting as outstanding.
+        @DefaultValue("60s") Duration requestTimeout
+) {}
@@ -0,0 +1,50 @@
+package com.gatewayservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+// Limits of the RateLimit route filter. The route limits are reloaded when they change in the environment, e.g. in
+// Consul KV; the bounds of the bucket store take a restart.
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitProperties(
+        // Limits by route id; routes without one are not limited.
+        @DefaultValue Map<String, Limit> routes,
+        // API keys that get buckets of their own under key: api-key. Any other X-API-Key value is ignored, so a caller
+        // can't get a fresh bucket by sending a new value with every request.
+        @DefaultValue Set<String> apiKeys,
+        // Bound of the buckets kept in memory; the least recently used ones are dropped beyond it.
+        @DefaultValue("100000") long maximumBuckets,
+        // Buckets unused for this long are dropped. Keep it above capacity / replenish-rate of every limit,
+        // as a dropped bucket starts full again.
+        @DefaultValue("5m") Duration idleTimeout
+) {
+
+    public record Limit(
+            // Requests that may be sent at once after a quiet period.
+            int capacity,
+            // Requests per second that may be sent in the long run.
+            double replenishRate,
+            // What a bucket belongs to.
+            @DefaultValue("client") KeyType key
+    ) {
+
+        public Limit {
+            if (capacity < 1 || !(replenishRate > 0)) {
+                throw new IllegalArgumentException("capacity must be at least 1 and replenish-rate positive");
+            }
+        }
+    }
+
+    public enum KeyType {
+        // The caller's address.
+        CLIENT,
+        // The X-API-Key header if it is one of api-keys; other callers are keyed by address.
+        API_KEY,
+        // One bucket for the whole route.
+        ROUTE
+    }
+}
@@ -0,0 +1,20 @@
+package com.gatewayservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+// Settings of the RequestCoalescing route filter.
+@ConfigurationProperties(prefix = "request-coalescing")
+public record RequestCoalescingProperties(
+        // How long a request waits for the identical one in flight before it goes to the backend itself.
+        @DefaultValue("2s") Duration maxWait,
+        // Larger responses are not shared; the waiting requests then go to the backend themselves.
+        @DefaultValue("1MB") DataSize maximumResponseSize,
+        // Request headers that, next to method, path and query, must be equal for requests to be coalesced.
+        @DefaultValue({"Authorization", "Cookie", "X-API-Key", "Accept", "Accept-Encoding", "Accept-Language"})
+        List<String> keyHeaders
+) {}
@@ -0,0 +1,21 @@
+package com.gatewayservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+// Shared store behind the ResponseCache route filter; the TTL is set per route, e.g. "- ResponseCache=30s".
+@ConfigurationProperties(prefix = "response-cache")
+public record ResponseCacheProperties(
+        // Bound of all cached bodies, headers and keys together; least recently used entries are evicted beyond it.
+        @DefaultValue("64MB") DataSize maximumSize,
+        // Larger responses are passed through without being cached.
+        @DefaultValue("1MB") DataSize maximumEntrySize,
+        // Request headers that identify the caller; responses are only shared between requests with equal values.
+        @DefaultValue({"Authorization", "Cookie", "X-API-Key"}) List<String> keyHeaders,
+        // Number of leading path segments of a successful POST, PUT, PATCH or DELETE whose cached GETs are dropped:
+        // with 1, DELETE /assets/5 invalidates everything cached under /assets.
+        @DefaultValue("1") int invalidationDepth
+) {}
@@ -1,16 +1,83 @@
 package com.gatewayservice.config;
 
+import com.gatewayservice.filter.HedgeGatewayFilterFactory;
+import com.gatewayservice.filter.RateLimitGatewayFilterFactory;
+import com.gatewayservice.filter.RequestCoalescingGatewayFilterFactory;
+import com.gatewayservice.filter.ResponseCacheGatewayFilterFactory;
+import com.gatewayservice.filter.UserProfileGatewayFilterFactory;
+import com.gatewayservice.helper.InstanceLatencies;
+import com.gatewayservice.helper.RateLimiter;
+import com.gatewayservice.helper.ResponseCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.Capability;
 import feign.micrometer.MicrometerCapability;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
+@EnableConfigurationProperties({HedgeProperties.class, LoadBalancerProperties.class, RateLimitProperties.class, RequestCoalescingProperties.class,
+        ResponseCacheProperties.class, UserProfileProperties.class})
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
 public class SpringConfiguration {
 
     @Bean
     public Capability capability(final MeterRegistry registry) {
         return new MicrometerCapability(registry);
     }
+
+    @Bean
+    public ResponseCache responseCache(ResponseCacheProperties properties, MeterRegistry registry) {
+        return new ResponseCache(properties, registry);
+    }
+
+    @Bean
+    public ResponseCacheGatewayFilterFactory responseCacheGatewayFilterFactory(ResponseCache responseCache) {
+        return new ResponseCacheGatewayFilterFactory(responseCache);
+    }
+
+    @Bean
+    public RequestCoalescingGatewayFilterFactory requestCoalescingGatewayFilterFactory(RequestCoalescingProperties properties,
+                                                                                       MeterRegistry registry) {
+        return new RequestCoalescingGatewayFilterFactory(properties, registry);
+    }
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, Environment environment, MeterRegistry registry) {
+        return new RateLimiter(properties, environment, registry);
+    }
+
+    @Bean
+    public RateLimitGatewayFilterFactory rateLimitGatewayFilterFactory(RateLimiter rateLimiter) {
+        return new RateLimitGatewayFilterFactory(rateLimiter);
+    }
+
+    // Also the load balancer lifecycle of every lb:// call, which is looked up in the parent of each service's context.
+    @Bean
+    @ConditionalOnProperty(prefix = "load-balancer", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public InstanceLatencies instanceLatencies(LoadBalancerProperties properties, MeterRegistry registry) {
+        return new InstanceLatencies(properties, registry);
+    }
+
+    @Bean
+    public HedgeGatewayFilterFactory hedgeGatewayFilterFactory(HedgeProperties properties, ObjectProvider<InstanceLatencies> instanceLatencies,
+                                                               MeterRegistry registry) {
+        return new HedgeGatewayFilterFactory(properties, instanceLatencies.getIfAvailable(), registry);
+    }
+
+    // Calls user-service and assets-service itself, through the same load balancer as the lb:// routes.
+    @Bean
+    public UserProfileGatewayFilterFactory userProfileGatewayFilterFactory(UserProfileProperties properties, WebClient.Builder webClientBuilder,
+                                                                           ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                                                                           ObjectMapper objectMapper, MeterRegistry registry) {
+        WebClient webClient = webClientBuilder.filter(loadBalancerFunction).build();
+        return new UserProfileGatewayFilterFactory(properties, webClient, objectMapper, registry);
+    }
 }
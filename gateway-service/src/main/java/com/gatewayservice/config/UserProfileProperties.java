@@ -0,0 +1,19 @@
+package com.gatewayservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+// Settings of the UserProfile route filter behind GET /users/{id}/profile.
+@ConfigurationProperties(prefix = "user-profile")
+public record UserProfileProperties(
+        // Load-balanced base URLs of the services the profile is put together from.
+        @DefaultValue("http://user-service") String userServiceUrl,
+        @DefaultValue("http://assets-service") String assetsServiceUrl,
+        // Budget for the whole request: without the user by then it fails, without the assets they are TIMED_OUT.
+        @DefaultValue("2s") Duration deadline,
+        // Request headers passed on to both services.
+        @DefaultValue({"Authorization", "Cookie", "X-API-Key", "Accept-Language"}) List<String> forwardHeaders
+) {}
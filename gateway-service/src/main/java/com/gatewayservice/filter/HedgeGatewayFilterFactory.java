@@ -0,0 +1,236 @@
+package com.gatewayservice.filter;
+
+import com.gatewayservice.config.HedgeProperties;
+import com.gatewayservice.helper.AttemptResponse;
+import com.gatewayservice.helper.HedgeBudget;
+import com.gatewayservice.helper.InstanceLatencies;
+import com.gatewayservice.helper.LatencyAwareLoadBalancer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// Route filter "Hedge": a GET whose upstream attempt hasn't answered within the route's hedge delay (a percentile of
+// its recent answer times) is sent a second time, to another instance, and the attempt that answers first is streamed
+// to the client while the other one is cancelled. Hedges are limited by a budget shared by all routes.
+// Both attempts run the rest of the filter chain on their own copy of the exchange attributes, so each one is
+// load-balanced and routed on its own.
+public class HedgeGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    // How often a route's hedge delay is recomputed from its latencies.
+    private static final long DELAY_REFRESH_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final HedgeProperties properties;
+    private final InstanceLatencies instanceLatencies;
+    private final MeterRegistry registry;
+    private final HedgeBudget budget;
+    private final Map<String, RouteLatency> routeLatencies = new ConcurrentHashMap<>();
+
+    public HedgeGatewayFilterFactory(HedgeProperties properties, InstanceLatencies instanceLatencies, MeterRegistry registry) {
+        super(Object.class);
+        this.properties = properties;
+        this.instanceLatencies = instanceLatencies;
+        this.registry = registry;
+        this.budget = new HedgeBudget(properties.budget());
+
+        Gauge.builder("gateway.hedge.budget", budget, HedgeBudget::available)
+                .description("Hedges that may still be sent")
+                .register(registry);
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        // Ahead of NettyWriteResponseFilter, so each attempt writes its body to its own AttemptResponse.
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            if (!isHedgeable(exchange.getRequest())) {
+                return chain.filter(exchange);
+            }
+            Route route = exchange.getRequiredAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            RouteLatency latency = routeLatencies.computeIfAbsent(route.getId(), RouteLatency::new);
+            budget.deposit();
+
+            Race race = new Race(exchange.getResponse(), latency);
+            Mono<Void> first = attempt(exchange, chain, race, 0)
+                    .doFinally(signal -> race.settle());
+            Mono<Void> hedge = Mono.delay(latency.delay())
+                    .takeUntilOther(race.settled())
+                    .flatMap(tick -> {
+                        if (!budget.tryAcquire()) {
+                            latency.overBudget.increment();
+                            return Mono.empty();
+                        }
+                        latency.sent.increment();
+                        return attempt(exchange, chain, race, 1);
+                    });
+            // An attempt that failed doesn't fail the request if the other one answered.
+            return Mono.whenDelayError(first, hedge)
+                    .onErrorResume(e -> race.isWritten() ? Mono.empty() : Mono.error(e));
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> attempt(ServerWebExchange exchange, GatewayFilterChain chain, Race race, int attempt) {
+        Map<String, Object> attributes = new ConcurrentHashMap<>(exchange.getAttributes());
+        if (attempt > 0 && race.firstInstance() != null) {
+            attributes.put(LatencyAwareLoadBalancer.EXCLUDED_INSTANCE_ATTR, race.firstInstance());
+        }
+        race.attributes[attempt] = attributes;
+        AttemptResponse response = new AttemptResponse(exchange.getResponse().bufferFactory(),
+                (answered, write) -> race.offer(attempt, answered, write));
+        ServerWebExchange attemptExchange = new ServerWebExchangeDecorator(exchange) {
+
+            @Override
+            public ServerHttpResponse getResponse() {
+                return response;
+            }
+
+            @Override
+            public Map<String, Object> getAttributes() {
+                return attributes;
+            }
+        };
+        return chain.filter(attemptExchange)
+                // Completed without a body, e.g. an error status set by a filter.
+                .then(Mono.defer(() -> race.offer(attempt, response, ServerHttpResponse::setComplete)))
+                .takeUntilOther(race.lost(attempt));
+    }
+
+    private static boolean isHedgeable(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return HttpMethod.GET.equals(request.getMethod())
+                && headers.getContentLength() <= 0 && !headers.containsKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+
+    // The first attempt to answer gets to write to the client; the other one is cancelled.
+    private final class Race {
+
+        private final ServerHttpResponse response;
+        private final RouteLatency latency;
+        private final long startedAt = System.nanoTime();
+        private final AtomicInteger winner = new AtomicInteger(-1);
+        private final AtomicBoolean written = new AtomicBoolean();
+        private final Sinks.Empty<Void> settled = Sinks.empty();
+        @SuppressWarnings("unchecked")
+        private final Sinks.Empty<Void>[] lost = new Sinks.Empty[]{Sinks.empty(), Sinks.empty()};
+        @SuppressWarnings("unchecked")
+        private final Map<String, Object>[] attributes = new Map[2];
+
+        private Race(ServerHttpResponse response, RouteLatency latency) {
+            this.response = response;
+            this.latency = latency;
+        }
+
+        private Mono<Void> offer(int attempt, AttemptResponse answered, Function<ServerHttpResponse, Mono<Void>> write) {
+            if (!winner.compareAndSet(-1, attempt)) {
+                // The winner has written already, or this attempt is about to be cancelled.
+                return winner.get() == attempt ? Mono.empty() : Mono.never();
+            }
+            // The first attempt's answer time; if the hedge won, at least that long.
+            long elapsed = System.nanoTime() - startedAt;
+            latency.timer.record(elapsed, TimeUnit.NANOSECONDS);
+            if (attempt > 0) {
+                latency.won.increment();
+                if (instanceLatencies != null && firstInstance() != null) {
+                    instanceLatencies.observe(firstInstance(), elapsed);
+                }
+            }
+            settle();
+            lost[1 - attempt].tryEmitEmpty();
+
+            answered.copyTo(response);
+            return write.apply(response).doOnSuccess(done -> written.set(true));
+        }
+
+        private ServiceInstance firstInstance() {
+            Map<String, Object> first = attributes[0];
+            return first != null && first.get(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR) instanceof Response<?> chosen
+                    && chosen.getServer() instanceof ServiceInstance instance ? instance : null;
+        }
+
+        private void settle() {
+            settled.tryEmitEmpty();
+        }
+
+        private Mono<Void> settled() {
+            return settled.asMono();
+        }
+
+        private Mono<Void> lost(int attempt) {
+            return lost[attempt].asMono();
+        }
+
+        private boolean isWritten() {
+            return written.get();
+        }
+    }
+
+    // Answer times of a route's first attempts, and the hedge delay taken from them.
+    private final class RouteLatency {
+
+        private final Timer timer;
+        private final Counter sent;
+        private final Counter won;
+        private final Counter overBudget;
+        private volatile long delay;
+        private volatile long computedAt;
+
+        private RouteLatency(String routeId) {
+            this.timer = Timer.builder("gateway.hedge.first.attempt")
+                    .description("Time until the first attempt answered; when a hedge won, the time until it did")
+                    .tag("route", routeId)
+                    .publishPercentiles(properties.percentile())
+                    .percentilePrecision(2)
+                    .distributionStatisticExpiry(properties.window())
+                    .register(registry);
+            this.sent = Counter.builder("gateway.hedges.sent").tag("route", routeId).register(registry);
+            this.won = Counter.builder("gateway.hedges.won")
+                    .description("Hedges that answered before the first attempt")
+                    .tag("route", routeId)
+                    .register(registry);
+            this.overBudget = Counter.builder("gateway.hedges.over.budget")
+                    .description("Hedges not sent because the hedge budget was used up")
+                    .tag("route", routeId)
+                    .register(registry);
+            this.delay = properties.minimumDelay().toNanos();
+            this.computedAt = System.nanoTime();
+        }
+
+        private Duration delay() {
+            long now = System.nanoTime();
+            if (now - computedAt > DELAY_REFRESH_INTERVAL) {
+                long percentile = 0;
+                for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+                    percentile = (long) value.value(TimeUnit.NANOSECONDS);
+                }
+                delay = Math.max(percentile, properties.minimumDelay().toNanos());
+                computedAt = now;
+            }
+            return Duration.ofNanos(delay);
+        }
+    }
+}
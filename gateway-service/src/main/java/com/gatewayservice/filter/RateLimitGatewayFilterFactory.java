@@ -0,0 +1,68 @@
+package com.gatewayservice.filter;
+
+import com.gatewayservice.config.RateLimitProperties;
+import com.gatewayservice.helper.RateLimiter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+// Route filter "RateLimit": admits requests by the token bucket of their route and key as configured under
+// rate-limit.routes.<route id>, and answers the others with 429 and Retry-After right away.
+public class RateLimitGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitGatewayFilterFactory(RateLimiter rateLimiter) {
+        super(Object.class);
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        // First of all filters: a rejected request costs no cache lookup, no coalescing and no backend call.
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            Route route = exchange.getRequiredAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            RateLimitProperties.Limit limit = rateLimiter.limitOf(route.getId());
+            if (limit == null) {
+                return chain.filter(exchange);
+            }
+
+            long wait = rateLimiter.tryAcquire(route.getId(), limit, key(limit.key(), route.getId(), exchange.getRequest()));
+            if (wait == 0) {
+                return chain.filter(exchange);
+            }
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.ceilDiv(wait, TimeUnit.SECONDS.toNanos(1))));
+            return response.setComplete();
+        }, Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    private String key(RateLimitProperties.KeyType keyType, String routeId, ServerHttpRequest request) {
+        return switch (keyType) {
+            case ROUTE -> routeId;
+            case API_KEY -> {
+                String apiKey = request.getHeaders().getFirst(API_KEY_HEADER);
+                yield apiKey != null && rateLimiter.isKnownApiKey(apiKey) ? "key:" + apiKey : clientAddress(request);
+            }
+            case CLIENT -> clientAddress(request);
+        };
+    }
+
+    private static String clientAddress(ServerHttpRequest request) {
+        InetSocketAddress address = request.getRemoteAddress();
+        return address == null || address.getAddress() == null ? "unknown" : address.getAddress().getHostAddress();
+    }
+}
@@ -0,0 +1,133 @@
+package com.gatewayservice.filter;
+
+import com.gatewayservice.config.RequestCoalescingProperties;
+import com.gatewayservice.helper.CapturedResponse;
+import com.gatewayservice.helper.CapturingResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+// Route filter "RequestCoalescing": while a GET is in flight, identical ones (same method, path, query and
+// key headers) wait for its response instead of going to the backend, and get a copy of it. A waiting request goes
+// to the backend itself when the response doesn't arrive within max-wait, or can't be shared because it is streamed,
+// too large or failed.
+public class RequestCoalescingGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    public static final String X_COALESCED = "X-Coalesced";
+
+    private static final List<MediaType> STREAMING_MEDIA_TYPES = List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+    private final RequestCoalescingProperties properties;
+    private final Map<String, Sinks.One<CapturedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter timedOut;
+    private final Counter notShared;
+
+    public RequestCoalescingGatewayFilterFactory(RequestCoalescingProperties properties, MeterRegistry registry) {
+        super(Object.class);
+        this.properties = properties;
+
+        this.leaders = requests(registry, "leader");
+        this.coalesced = requests(registry, "coalesced");
+        this.timedOut = requests(registry, "timeout");
+        this.notShared = requests(registry, "not_shared");
+        Gauge.builder("gateway.coalescing.in.flight", inFlight, Map::size)
+                .description("Distinct requests currently being waited for by identical ones")
+                .register(registry);
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.coalescing.requests")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        // Ahead of NettyWriteResponseFilter, which writes the body to the response of the exchange it was given.
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            if (!HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+                return chain.filter(exchange);
+            }
+
+            String key = key(exchange.getRequest());
+            Sinks.One<CapturedResponse> sink = Sinks.one();
+            Sinks.One<CapturedResponse> existing = inFlight.putIfAbsent(key, sink);
+            return existing == null ? lead(exchange, chain, key, sink) : follow(exchange, chain, existing);
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key, Sinks.One<CapturedResponse> sink) {
+        leaders.increment();
+        ServerHttpResponse response = new CapturingResponse(exchange.getResponse(), properties.maximumResponseSize().toBytes(),
+                RequestCoalescingGatewayFilterFactory::isShareable,
+                captured -> {
+                    // Requests arriving from now on start a new flight rather than getting a response they didn't wait for.
+                    inFlight.remove(key, sink);
+                    sink.tryEmitValue(captured);
+                });
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    // Not shared: the waiting requests go to the backend themselves.
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, Sinks.One<CapturedResponse> sink) {
+        return sink.asMono()
+                .timeout(properties.maxWait())
+                .flatMap(captured -> {
+                    coalesced.increment();
+                    exchange.getResponse().getHeaders().set(X_COALESCED, "true");
+                    return captured.writeTo(exchange.getResponse()).thenReturn(true);
+                })
+                .onErrorResume(TimeoutException.class, e -> {
+                    timedOut.increment();
+                    return chain.filter(exchange).thenReturn(true);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    notShared.increment();
+                    return chain.filter(exchange).thenReturn(true);
+                }))
+                .then();
+    }
+
+    private String key(ServerHttpRequest request) {
+        StringBuilder key = new StringBuilder()
+                .append(request.getMethod().name()).append(' ')
+                .append(request.getURI().getRawPath());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        for (String header : properties.keyHeaders()) {
+            key.append('\n').append(header).append('=').append(request.getHeaders().getOrEmpty(header));
+        }
+        return key.toString();
+    }
+
+    private static boolean isShareable(ServerHttpResponse response) {
+        MediaType contentType = response.getHeaders().getContentType();
+        return contentType == null || STREAMING_MEDIA_TYPES.stream().noneMatch(contentType::isCompatibleWith);
+    }
+}
@@ -0,0 +1,139 @@
+package com.gatewayservice.filter;
+
+import com.gatewayservice.helper.CapturingResponse;
+import com.gatewayservice.helper.ResponseCache;
+import com.gatewayservice.helper.ResponseCache.CachedResponse;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+// Route filter "ResponseCache=<ttl>": answers GETs from the shared ResponseCache and stores 200 responses the backend
+// didn't mark as no-store, no-cache or private. A successful POST, PUT, PATCH or DELETE on the route drops the
+// cached responses under its path prefix (see ResponseCacheProperties.invalidationDepth) and, with the long form
+// "args: {ttl: 30s, invalidates: /users/*/assets}", those of other routes that serve the same data.
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final String X_CACHE = "X-Cache";
+
+    private static final Set<HttpMethod> WRITE_METHODS = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+    private static final List<MediaType> STREAMING_MEDIA_TYPES = List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+    private final ResponseCache cache;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache cache) {
+        super(Config.class);
+        this.cache = cache;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Ahead of NettyWriteResponseFilter, which writes the body to the response of the exchange it was given.
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            HttpMethod method = exchange.getRequest().getMethod();
+            if (HttpMethod.GET.equals(method)) {
+                return get(exchange, chain, config.getTtl());
+            }
+            if (WRITE_METHODS.contains(method)) {
+                // Before the client sees the response, so its next read can't get what was cached before the write.
+                exchange.getResponse().beforeCommit(() -> Mono.fromRunnable(() -> invalidateAfterWrite(exchange, config.getInvalidates())));
+                return chain.filter(exchange);
+            }
+            return chain.filter(exchange);
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> get(ServerWebExchange exchange, GatewayFilterChain chain, Duration ttl) {
+        ServerHttpRequest request = exchange.getRequest();
+        String requestCacheControl = request.getHeaders().getCacheControl();
+        if (requestCacheControl != null && (requestCacheControl.contains("no-cache") || requestCacheControl.contains("no-store"))) {
+            return chain.filter(exchange);
+        }
+
+        return cache.get(request)
+                .map(cached -> writeCached(exchange.getResponse(), cached))
+                .orElseGet(() -> {
+                    long generation = cache.generation();
+                    exchange.getResponse().beforeCommit(() -> {
+                        exchange.getResponse().getHeaders().set(X_CACHE, "MISS");
+                        return Mono.empty();
+                    });
+                    ServerHttpResponse response = new CapturingResponse(exchange.getResponse(), cache.maximumEntrySize(),
+                            ResponseCacheGatewayFilterFactory::isCacheable,
+                            captured -> cache.put(request, generation,
+                                    new CachedResponse(request.getURI().getRawPath(), captured, Instant.now(), ttl)));
+                    return chain.filter(exchange.mutate().response(response).build());
+                });
+    }
+
+    private static Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached) {
+        response.getHeaders().set(HttpHeaders.AGE, String.valueOf(Duration.between(cached.storedAt(), Instant.now()).toSeconds()));
+        response.getHeaders().set(X_CACHE, "HIT");
+        return cached.response().writeTo(response);
+    }
+
+    private void invalidateAfterWrite(ServerWebExchange exchange, List<String> invalidates) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status != null && status.is2xxSuccessful()) {
+            cache.invalidate(cache.invalidationPrefix(exchange.getRequest().getURI().getRawPath()), invalidates);
+        }
+    }
+
+    private static boolean isCacheable(ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        if (!HttpStatus.OK.equals(response.getStatusCode()) || headers.containsKey(HttpHeaders.SET_COOKIE)
+                || headers.getVary().contains("*")) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null
+                && (cacheControl.contains("no-store") || cacheControl.contains("no-cache") || cacheControl.contains("private"))) {
+            return false;
+        }
+        MediaType contentType = headers.getContentType();
+        return contentType == null || STREAMING_MEDIA_TYPES.stream().noneMatch(contentType::isCompatibleWith);
+    }
+
+    public static class Config {
+
+        private Duration ttl = Duration.ofSeconds(30);
+        // Path patterns of other routes whose cached responses a write on this route also drops.
+        private List<String> invalidates = List.of();
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public List<String> getInvalidates() {
+            return invalidates;
+        }
+
+        public void setInvalidates(List<String> invalidates) {
+            this.invalidates = invalidates;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.gatewayservice.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gatewayservice.config.UserProfileProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeoutException;
+
+// Route filter "UserProfile": answers GET /users/{id}/profile with the user from user-service and the first page of
+// their assets from assets-service, both called at once, as {"user": ..., "assets": ..., "assetsStatus": ...} - the
+// shape of GET /users?includeAssets=true. The assets are optional: if they fail or miss the deadline the user is
+// still returned, with assetsStatus FAILED or TIMED_OUT. Without the user the request fails. Ends the filter chain.
+public class UserProfileGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    private static final String ASSETS_OK = "OK";
+    private static final String ASSETS_TIMED_OUT = "TIMED_OUT";
+    private static final String ASSETS_FAILED = "FAILED";
+
+    private final UserProfileProperties properties;
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+
+    private final Counter complete;
+    private final Counter partial;
+    private final Counter failed;
+
+    public UserProfileGatewayFilterFactory(UserProfileProperties properties, WebClient webClient, ObjectMapper objectMapper,
+                                           MeterRegistry registry) {
+        super(Object.class);
+        this.properties = properties;
+        this.webClient = webClient;
+        this.objectMapper = objectMapper;
+
+        this.complete = requests(registry, "complete");
+        this.partial = requests(registry, "partial");
+        this.failed = requests(registry, "failed");
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.user.profile.requests")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        return (exchange, chain) -> {
+            String userId = ServerWebExchangeUtils.getUriTemplateVariables(exchange).get("id");
+            // Both calls start together, so one timeout each is one deadline for the request.
+            Mono<JsonNode> user = get(exchange.getRequest(), properties.userServiceUrl() + "/users/{id}", userId)
+                    .timeout(properties.deadline());
+            Mono<ObjectNode> assets = get(exchange.getRequest(), properties.assetsServiceUrl() + "/assets/users/{id}", userId)
+                    .timeout(properties.deadline())
+                    .map(page -> assets(page, ASSETS_OK))
+                    // assets-service answers 404 for users without assets.
+                    .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(assets(emptyPage(), ASSETS_OK)))
+                    .onErrorResume(TimeoutException.class, e -> Mono.just(assets(null, ASSETS_TIMED_OUT)))
+                    .onErrorResume(e -> Mono.just(assets(null, ASSETS_FAILED)))
+                    .defaultIfEmpty(assets(emptyPage(), ASSETS_OK));
+
+            return Mono.zip(user, assets)
+                    .flatMap(userAndAssets -> writeProfile(exchange, userAndAssets.getT1(), userAndAssets.getT2()))
+                    // user-service answers an empty 200 for unknown users.
+                    .switchIfEmpty(Mono.defer(() -> write(exchange, HttpStatus.NOT_FOUND, null)))
+                    .onErrorResume(WebClientResponseException.class, e -> e.getStatusCode().is4xxClientError()
+                            ? write(exchange, e.getStatusCode(), e.getResponseBodyAsByteArray())
+                            : unavailable(exchange))
+                    .onErrorResume(e -> unavailable(exchange));
+        };
+    }
+
+    private Mono<JsonNode> get(ServerHttpRequest request, String uri, String userId) {
+        return webClient.get()
+                .uri(uri, userId)
+                .headers(headers -> properties.forwardHeaders().forEach(name -> {
+                    if (request.getHeaders().containsKey(name)) {
+                        headers.put(name, request.getHeaders().get(name));
+                    }
+                }))
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(JsonNode.class);
+    }
+
+    private Mono<Void> writeProfile(ServerWebExchange exchange, JsonNode user, ObjectNode assets) {
+        ObjectNode profile = objectMapper.createObjectNode();
+        profile.set("user", user);
+        profile.setAll(assets);
+        if (ASSETS_OK.equals(assets.get("assetsStatus").asText())) {
+            complete.increment();
+        } else {
+            partial.increment();
+            // A partial answer must not be served from the response cache.
+            exchange.getResponse().getHeaders().setCacheControl(CacheControl.noStore());
+        }
+        return write(exchange, HttpStatus.OK, toBytes(profile));
+    }
+
+    private Mono<Void> unavailable(ServerWebExchange exchange) {
+        failed.increment();
+        ObjectNode error = objectMapper.createObjectNode();
+        error.putArray("errors").addObject()
+                .put("error", "user-service is unavailable, try again later")
+                .put("code", "DEPENDENCY_UNAVAILABLE");
+        return write(exchange, HttpStatus.SERVICE_UNAVAILABLE, toBytes(error));
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, HttpStatusCode status, byte[] body) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        if (body == null || body.length == 0) {
+            return response.setComplete();
+        }
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+
+    private ObjectNode assets(JsonNode page, String status) {
+        ObjectNode assets = objectMapper.createObjectNode();
+        if (page != null) {
+            assets.set("assets", page);
+        }
+        assets.put("assetsStatus", status);
+        return assets;
+    }
+
+    private JsonNode emptyPage() {
+        ObjectNode page = objectMapper.createObjectNode();
+        page.putArray("assets");
+        page.putNull("next");
+        return page;
+    }
+
+    private byte[] toBytes(JsonNode node) {
+        try {
+            return objectMapper.writeValueAsBytes(node);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
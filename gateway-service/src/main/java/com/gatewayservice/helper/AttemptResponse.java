@@ -0,0 +1,61 @@
+package com.gatewayservice.helper;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Response of one of several upstream attempts for the same request. Status, headers and cookies stay with it, and
+// its body is handed to onBody as a write function instead of being written, so onBody decides whether and where it goes.
+public class AttemptResponse extends AbstractServerHttpResponse {
+
+    private final BiFunction<AttemptResponse, Function<ServerHttpResponse, Mono<Void>>, Mono<Void>> onBody;
+
+    public AttemptResponse(DataBufferFactory bufferFactory,
+                           BiFunction<AttemptResponse, Function<ServerHttpResponse, Mono<Void>>, Mono<Void>> onBody) {
+        super(bufferFactory);
+        this.onBody = onBody;
+    }
+
+    // Copies status, headers and cookies to the response the body is written to.
+    public void copyTo(ServerHttpResponse response) {
+        if (getStatusCode() != null) {
+            response.setStatusCode(getStatusCode());
+        }
+        response.getHeaders().putAll(getHeaders());
+        getCookies().values().forEach(cookies -> cookies.forEach(response::addCookie));
+    }
+
+    @Override
+    protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> body) {
+        return onBody.apply(this, response -> response.writeWith(body));
+    }
+
+    @Override
+    protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return onBody.apply(this, response -> response.writeAndFlushWith(body));
+    }
+
+    @Override
+    protected void applyStatusCode() {
+    }
+
+    @Override
+    protected void applyHeaders() {
+    }
+
+    @Override
+    protected void applyCookies() {
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getNativeResponse() {
+        return (T) this;
+    }
+}
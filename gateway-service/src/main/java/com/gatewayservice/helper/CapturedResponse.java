@@ -0,0 +1,41 @@
+package com.gatewayservice.helper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+// Status, end-to-end headers and body of a backend response, replayable to other clients.
+public record CapturedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+
+    // Hop-by-hop headers, the length that is set again on replay, and the markers set by the gateway's own filters.
+    private static final Set<String> NOT_REPLAYED_HEADERS = Set.of(
+            HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, "Keep-Alive", HttpHeaders.CONTENT_LENGTH, "X-Cache");
+
+    public static CapturedResponse of(ServerHttpResponse response, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (NOT_REPLAYED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.addAll(name, values);
+            }
+        });
+        return new CapturedResponse(response.getStatusCode(), HttpHeaders.readOnlyHttpHeaders(headers), body);
+    }
+
+    // Approximate memory taken by headers and body.
+    public int size() {
+        int headerSize = headers.entrySet().stream()
+                .mapToInt(header -> header.getKey().length() + header.getValue().stream().mapToInt(String::length).sum())
+                .sum();
+        return body.length + headerSize * 2;
+    }
+
+    public Mono<Void> writeTo(ServerHttpResponse response) {
+        response.setStatusCode(status);
+        response.getHeaders().putAll(headers);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,79 @@
+package com.gatewayservice.helper;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// Copies a response while it is written to the client and hands the copy to onCaptured once the body is complete.
+// Nothing is handed over when capturable rejects the response as the body starts, when the body outgrows
+// maximumBodySize or when writing fails. Must be placed ahead of NettyWriteResponseFilter to see the body.
+public class CapturingResponse extends ServerHttpResponseDecorator {
+
+    private final long maximumBodySize;
+    private final Predicate<ServerHttpResponse> capturable;
+    private final Consumer<CapturedResponse> onCaptured;
+    // Null once the body outgrew maximumBodySize or was handed over.
+    private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+    public CapturingResponse(ServerHttpResponse delegate, long maximumBodySize, Predicate<ServerHttpResponse> capturable,
+                             Consumer<CapturedResponse> onCaptured) {
+        super(delegate);
+        this.maximumBodySize = maximumBodySize;
+        this.capturable = capturable;
+        this.onCaptured = onCaptured;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        if (!capturable.test(getDelegate())) {
+            return super.writeWith(body);
+        }
+        long contentLength = getDelegate().getHeaders().getContentLength();
+        Flux<? extends DataBuffer> copied = Flux.from(body)
+                .doOnNext(buffer -> {
+                    copy(buffer);
+                    // With a known length the copy is handed over before the last bytes are written, so a client
+                    // that read them can count on it being there for its next request.
+                    if (copy != null && copy.size() == contentLength) {
+                        capture();
+                    }
+                })
+                .doOnComplete(this::capture);
+        return super.writeWith(copied);
+    }
+
+    // Responses without a body, e.g. a 404 without content, never go through writeWith.
+    @Override
+    public Mono<Void> setComplete() {
+        if (!isCommitted() && capturable.test(getDelegate())) {
+            onCaptured.accept(CapturedResponse.of(getDelegate(), new byte[0]));
+        }
+        return super.setComplete();
+    }
+
+    private void capture() {
+        if (copy != null) {
+            onCaptured.accept(CapturedResponse.of(getDelegate(), copy.toByteArray()));
+            copy = null;
+        }
+    }
+
+    private void copy(DataBuffer buffer) {
+        int length = buffer.readableByteCount();
+        if (copy == null || copy.size() + length > maximumBodySize) {
+            copy = null;
+            return;
+        }
+        byte[] bytes = new byte[length];
+        buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), 0, length);
+        copy.writeBytes(bytes);
+    }
+}
@@ -0,0 +1,38 @@
+package com.gatewayservice.helper;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hedges the gateway may still send: every hedgeable request earns `budget` of a hedge, a hedge spends a whole one.
+// Lock-free; the credit is kept in thousandths of a hedge.
+public class HedgeBudget {
+
+    private static final long HEDGE = 1000;
+    // Hedges that can be saved up, so a burst of slow answers after a quiet period can still be hedged.
+    private static final long MAXIMUM_SAVED = 10 * HEDGE;
+
+    private final long earnedPerRequest;
+    private final AtomicLong credit = new AtomicLong();
+
+    public HedgeBudget(double budget) {
+        this.earnedPerRequest = Math.round(budget * HEDGE);
+    }
+
+    public void deposit() {
+        credit.getAndUpdate(current -> Math.min(current + earnedPerRequest, MAXIMUM_SAVED));
+    }
+
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = credit.get();
+            if (current < HEDGE) {
+                return false;
+            }
+        } while (!credit.compareAndSet(current, current - HEDGE));
+        return true;
+    }
+
+    public double available() {
+        return (double) credit.get() / HEDGE;
+    }
+}
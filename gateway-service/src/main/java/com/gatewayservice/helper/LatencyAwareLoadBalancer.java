@@ -0,0 +1,81 @@
+package com.gatewayservice.helper;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Power of two choices: of two random instances, the one with the lower InstanceLatencies score gets the call.
+// Unlike always taking the best one, this doesn't send every caller to the same instance between two updates.
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    // Exchange attribute naming an instance not to choose, unless it is the only one; set for hedged requests.
+    public static final String EXCLUDED_INSTANCE_ATTR = LatencyAwareLoadBalancer.class.getName() + ".excludedInstance";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final InstanceLatencies instanceLatencies;
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                    String serviceId, InstanceLatencies instanceLatencies) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.instanceLatencies = instanceLatencies;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = choose(instances, request);
+            if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                callback.selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> discovered, Request<?> request) {
+        instanceLatencies.retain(serviceId, discovered);
+        List<ServiceInstance> instances = withoutExcluded(discovered, request);
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(instanceLatencies.score(a) <= instanceLatencies.score(b) ? a : b);
+    }
+
+    private static List<ServiceInstance> withoutExcluded(List<ServiceInstance> instances, Request<?> request) {
+        if (!(request.getContext() instanceof RequestDataContext context) || context.getClientRequest() == null
+                || context.getClientRequest().getAttributes() == null
+                || !(context.getClientRequest().getAttributes().get(EXCLUDED_INSTANCE_ATTR) instanceof ServiceInstance excluded)) {
+            return instances;
+        }
+        List<ServiceInstance> others = instances.stream()
+                .filter(instance -> !(instance.getHost().equals(excluded.getHost()) && instance.getPort() == excluded.getPort()))
+                .toList();
+        return others.isEmpty() ? instances : others;
+    }
+}
@@ -0,0 +1,88 @@
+package com.gatewayservice.helper;
+
+import com.gatewayservice.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Token buckets of the RateLimit route filter, one per route and key, held in memory only: every gateway instance
+// limits on its own. The route limits are rebound from the environment on every change of a rate-limit key.
+public class RateLimiter implements ApplicationListener<EnvironmentChangeEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+    private static final String PREFIX = "rate-limit";
+
+    private final Environment environment;
+    private final MeterRegistry registry;
+    // The limit is part of the key, so a changed limit starts new buckets; the old ones expire when idle.
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private volatile RateLimitProperties properties;
+
+    public RateLimiter(RateLimitProperties properties, Environment environment, MeterRegistry registry) {
+        this.properties = properties;
+        this.environment = environment;
+        this.registry = registry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maximumBuckets())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+
+        Gauge.builder("gateway.rate.limit.buckets", buckets, Cache::estimatedSize)
+                .description("Token buckets held by the gateway rate limiter")
+                .register(registry);
+    }
+
+    // Null if the route is not limited.
+    public RateLimitProperties.Limit limitOf(String routeId) {
+        return properties.routes().get(routeId);
+    }
+
+    public boolean isKnownApiKey(String apiKey) {
+        return properties.apiKeys().contains(apiKey);
+    }
+
+    // Returns 0 if the request is allowed, otherwise the nanoseconds until the key has a token again.
+    public long tryAcquire(String routeId, RateLimitProperties.Limit limit, String key) {
+        long now = System.nanoTime();
+        long wait = buckets.get(new BucketKey(routeId, limit, key), bucketKey -> new TokenBucket(limit, now))
+                .tryAcquire(now);
+        counter(routeId, wait == 0 ? "allowed" : "rejected").increment();
+        return wait;
+    }
+
+    @Override
+    public void onApplicationEvent(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().noneMatch(key -> key.startsWith(PREFIX + "."))) {
+            return;
+        }
+        try {
+            properties = Binder.get(environment).bindOrCreate(PREFIX, RateLimitProperties.class);
+            log.info("Reloaded rate limits of routes {}", properties.routes().keySet());
+        } catch (RuntimeException e) {
+            log.warn("Ignoring invalid rate limits, keeping the previous ones", e);
+        }
+    }
+
+    private Counter counter(String routeId, String result) {
+        return counters.computeIfAbsent(routeId + ' ' + result, name -> Counter.builder("gateway.rate.limit.requests")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(registry));
+    }
+
+    private record BucketKey(String routeId, RateLimitProperties.Limit limit, String key) {}
+}
@@ -0,0 +1,195 @@
+package com.gatewayservice.helper;
+
+import com.gatewayservice.config.ResponseCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.AntPathMatcher;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+// GET responses of the routes using the ResponseCache filter, bounded by the bytes they take.
+// An entry is keyed by path, query and the caller's key headers (hashed, so no credentials are kept in memory), plus
+// the values of the request headers named in the response's Vary. The Vary header names are remembered per URL and
+// caller, so a lookup knows which request headers to add to the key before it finds the entry.
+public class ResponseCache {
+
+    // Rough per-entry cost of the objects around the body and the headers.
+    private static final int ENTRY_OVERHEAD = 256;
+    private static final int MAXIMUM_VARIANT_KEYS = 100_000;
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final ResponseCacheProperties properties;
+    private final Cache<String, CachedResponse> entries;
+    private final Cache<String, List<String>> varyHeaders;
+    // Bumped by every invalidation; a response is only stored if none happened since its request was sent.
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter invalidations;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(properties.maximumSize().toBytes())
+                .weigher((String key, CachedResponse response) -> ENTRY_OVERHEAD + key.length() * 2 + response.size())
+                .expireAfter(new TtlExpiry())
+                .recordStats()
+                .build();
+        this.varyHeaders = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_VARIANT_KEYS)
+                .build();
+
+        CaffeineCacheMetrics.monitor(registry, entries, "gateway.response");
+        Gauge.builder("gateway.response.cache.hit.ratio", entries, cache -> cache.stats().hitRate())
+                .description("Share of cache lookups answered from the gateway response cache")
+                .register(registry);
+        Gauge.builder("gateway.response.cache.memory", entries,
+                        cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("Approximate size of the cached responses")
+                .baseUnit("bytes")
+                .register(registry);
+        this.invalidations = Counter.builder("gateway.response.cache.invalidations")
+                .description("Writes that dropped cached responses under their path prefix")
+                .register(registry);
+    }
+
+    public long maximumEntrySize() {
+        return properties.maximumEntrySize().toBytes();
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public Optional<CachedResponse> get(ServerHttpRequest request) {
+        String baseKey = baseKey(request);
+        List<String> vary = varyHeaders.getIfPresent(baseKey);
+        return Optional.ofNullable(entries.getIfPresent(vary == null ? baseKey : variantKey(baseKey, vary, request.getHeaders())));
+    }
+
+    // generation is the value of generation() from before the request was forwarded.
+    public void put(ServerHttpRequest request, long generation, CachedResponse response) {
+        if (response.size() > properties.maximumEntrySize().toBytes() || generation != this.generation.get()) {
+            return;
+        }
+        String baseKey = baseKey(request);
+        List<String> vary = response.response().headers().getVary().stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .sorted()
+                .toList();
+        varyHeaders.put(baseKey, vary);
+        String key = variantKey(baseKey, vary, request.getHeaders());
+        entries.put(key, response);
+        if (generation != this.generation.get()) {
+            // Invalidated while being stored.
+            entries.invalidate(key);
+        }
+    }
+
+    // Drops every entry whose path is pathPrefix or lies below it.
+    public void invalidate(String pathPrefix) {
+        invalidate(pathPrefix, List.of());
+    }
+
+    // Also drops the entries whose path matches one of pathPatterns ("*" stands for one path segment) or lies below
+    // such a path: responses of other routes that are built from the same data.
+    public void invalidate(String pathPrefix, List<String> pathPatterns) {
+        generation.incrementAndGet();
+        entries.asMap().values().removeIf(response -> isUnder(response.path(), pathPrefix)
+                || pathPatterns.stream().anyMatch(pattern -> matches(pattern, response.path())));
+        invalidations.increment();
+    }
+
+    public String invalidationPrefix(String path) {
+        int end = 0;
+        for (int segment = 0; segment < properties.invalidationDepth(); segment++) {
+            int next = path.indexOf('/', end + 1);
+            if (next < 0) {
+                return path;
+            }
+            end = next;
+        }
+        return end == 0 ? "/" : path.substring(0, end);
+    }
+
+    private static boolean matches(String pattern, String path) {
+        return PATH_MATCHER.match(pattern, path) || PATH_MATCHER.match(pattern + "/**", path);
+    }
+
+    private static boolean isUnder(String path, String prefix) {
+        return prefix.equals("/") || path.equals(prefix) || path.startsWith(prefix.endsWith("/") ? prefix : prefix + "/");
+    }
+
+    private String baseKey(ServerHttpRequest request) {
+        StringBuilder caller = new StringBuilder();
+        for (String header : properties.keyHeaders()) {
+            caller.append(header).append('=').append(request.getHeaders().getOrEmpty(header)).append('\n');
+        }
+        String query = request.getURI().getRawQuery();
+        return request.getURI().getRawPath() + (query == null ? "" : "?" + query) + " " + sha256(caller.toString());
+    }
+
+    private static String variantKey(String baseKey, List<String> vary, HttpHeaders headers) {
+        if (vary.isEmpty()) {
+            return baseKey;
+        }
+        StringBuilder key = new StringBuilder(baseKey);
+        for (String header : vary) {
+            key.append('\n').append(header).append('=').append(headers.getOrEmpty(header));
+        }
+        return key.toString();
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record CachedResponse(
+            String path,
+            CapturedResponse response,
+            Instant storedAt,
+            Duration ttl
+    ) {
+
+        int size() {
+            return response.size() + path.length() * 2;
+        }
+    }
+
+    private static class TtlExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+            return response.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return response.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.gatewayservice.helper;
+
+import com.gatewayservice.config.RateLimitProperties;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// A token bucket kept as the single instant at which it is full again (the "theoretical arrival time" of GCRA):
+// taking a token moves that instant one token interval ahead, and is refused while it would end up more than
+// capacity intervals ahead of now. One compare-and-set per request, no lock, no refill task.
+public class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long tokenInterval;
+    private final long burst;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(RateLimitProperties.Limit limit, long now) {
+        this.tokenInterval = Math.max(1, Math.round(NANOS_PER_SECOND / limit.replenishRate()));
+        this.burst = tokenInterval * limit.capacity();
+        this.fullAt = new AtomicLong(now);
+    }
+
+    // Takes a token at now (System.nanoTime()); returns 0 if one was taken, otherwise the nanoseconds until there is one.
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + tokenInterval;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
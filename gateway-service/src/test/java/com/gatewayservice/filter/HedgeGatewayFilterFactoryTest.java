@@ -0,0 +1,106 @@
+package com.gatewayservice.filter;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "hedge.percentile=0.5", "hedge.minimum-delay=100ms", "hedge.budget=1"})
+class HedgeGatewayFilterFactoryTest {
+
+    @RegisterExtension
+    static WireMockExtension FIRST_INSTANCE = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @RegisterExtension
+    static WireMockExtension SECOND_INSTANCE = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @DynamicPropertySource
+    static void assetsServiceInstances(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.discovery.client.simple.instances.assets-service[0].uri",
+                () -> "http://localhost:" + FIRST_INSTANCE.getPort());
+        registry.add("spring.cloud.discovery.client.simple.instances.assets-service[1].uri",
+                () -> "http://localhost:" + SECOND_INSTANCE.getPort());
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldAnswerFromHedge_IfFirstAttemptIsSlow() {
+        // given
+        mockGetAsset(FIRST_INSTANCE, "/assets/401", 1500);
+        mockGetAsset(SECOND_INSTANCE, "/assets/401", 0);
+        double wonBefore = hedges("won");
+
+        // when
+        List<Duration> elapsed = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            long start = System.nanoTime();
+            webTestClient.get().uri("/assets/401").exchange()
+                    .expectStatus().isOk()
+                    .expectBody().jsonPath("$.name").isEqualTo("device");
+            elapsed.add(Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        // then
+        assertThat(elapsed).allSatisfy(duration -> assertThat(duration).isLessThan(Duration.ofMillis(1000)));
+        assertThat(hedges("won") - wonBefore).isPositive();
+    }
+
+    @Test
+    void shouldNotHedge_AnswersWithinTheDelay() {
+        // given
+        mockGetAsset(FIRST_INSTANCE, "/assets/402", 0);
+        mockGetAsset(SECOND_INSTANCE, "/assets/402", 0);
+        double sentBefore = hedges("sent");
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            webTestClient.get().uri("/assets/402").exchange().expectStatus().isOk().expectBody().returnResult();
+        }
+
+        // then
+        assertThat(hedges("sent") - sentBefore).isZero();
+        int calls = FIRST_INSTANCE.countRequestsMatching(WireMock.getRequestedFor(WireMock.urlEqualTo("/assets/402")).build()).getCount()
+                + SECOND_INSTANCE.countRequestsMatching(WireMock.getRequestedFor(WireMock.urlEqualTo("/assets/402")).build()).getCount();
+        assertThat(calls).isEqualTo(5);
+    }
+
+    // The meters of a route are registered with its first request.
+    private double hedges(String outcome) {
+        Counter counter = meterRegistry.find("gateway.hedges." + outcome).tag("route", "assets-service").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void mockGetAsset(WireMockExtension instance, String url, int delay) {
+        instance.stubFor(WireMock.get(url)
+                .willReturn(aResponse().withStatus(200).withFixedDelay(delay)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                        .withHeader(HttpHeaders.CACHE_CONTROL, "no-store")
+                        .withBody("{\"assetId\":401,\"name\":\"device\"}")));
+    }
+}
@@ -0,0 +1,147 @@
+package com.gatewayservice.filter;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "rate-limit.routes.assets-service.capacity=2",
+        "rate-limit.routes.assets-service.replenish-rate=0.1",
+        "rate-limit.routes.assets-service.key=api-key",
+        "rate-limit.api-keys=first-key,second-key,third-key,fourth-key"})
+class RateLimitGatewayFilterFactoryTest {
+
+    private static final String ASSET_URL = "/assets/201";
+
+    @RegisterExtension
+    static WireMockExtension MOCK_ASSETS_API = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @DynamicPropertySource
+    static void assetsServiceInstance(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.discovery.client.simple.instances.assets-service[0].uri",
+                () -> "http://localhost:" + MOCK_ASSETS_API.getPort());
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ConfigurableEnvironment environment;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    public void setUp() {
+        MOCK_ASSETS_API.resetAll();
+        MOCK_ASSETS_API.stubFor(WireMock.get(ASSET_URL)
+                .willReturn(aResponse().withStatus(200).withHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                        .withHeader(HttpHeaders.CACHE_CONTROL, "no-store")
+                        .withBody("{\"assetId\":201,\"name\":\"device\"}")));
+    }
+
+    @Test
+    void shouldReject_RequestsBeyondCapacity_WithRetryAfter() {
+        // given
+        double rejectedBefore = requests("rejected");
+        assertThat(get("first-key").getStatus()).isEqualTo(HttpStatus.OK);
+        assertThat(get("first-key").getStatus()).isEqualTo(HttpStatus.OK);
+
+        // when
+        EntityExchangeResult<byte[]> rejected = get("first-key");
+
+        // then
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(Integer.parseInt(rejected.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER))).isBetween(1, 10);
+        MOCK_ASSETS_API.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo(ASSET_URL)));
+        assertThat(requests("rejected") - rejectedBefore).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepSeparateBuckets_PerApiKey() {
+        // given
+        get("second-key");
+        get("second-key");
+        assertThat(get("second-key").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        // when
+        EntityExchangeResult<byte[]> otherCaller = get("third-key");
+
+        // then
+        assertThat(otherCaller.getStatus()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void shouldKeyUnknownApiKeys_ByClientAddress() {
+        // given
+        get("unknown-key-1");
+        get("unknown-key-2");
+
+        // when
+        EntityExchangeResult<byte[]> rotatedKey = get("unknown-key-3");
+
+        // then
+        assertThat(rotatedKey.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(get("third-key").getStatus()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void shouldApplyChangedRouteLimits_WithoutRestart() {
+        // given
+        MapPropertySource changed = new MapPropertySource("changed-rate-limits", Map.of("rate-limit.routes.assets-service.capacity", 5));
+        environment.getPropertySources().addFirst(changed);
+
+        try {
+            // when
+            eventPublisher.publishEvent(new EnvironmentChangeEvent(Set.of("rate-limit.routes.assets-service.capacity")));
+
+            // then
+            List<Integer> statuses = IntStream.range(0, 6)
+                    .mapToObj(i -> get("fourth-key").getStatus().value())
+                    .toList();
+            assertThat(statuses).containsExactly(200, 200, 200, 200, 200, 429);
+        } finally {
+            environment.getPropertySources().remove(changed.getName());
+            eventPublisher.publishEvent(new EnvironmentChangeEvent(Set.of("rate-limit.routes.assets-service.capacity")));
+        }
+    }
+
+    // The body is read in full, so the next request is not coalesced with this one.
+    private EntityExchangeResult<byte[]> get(String apiKey) {
+        return webTestClient.get().uri(ASSET_URL).header(RateLimitGatewayFilterFactory.API_KEY_HEADER, apiKey)
+                .exchange().expectBody().returnResult();
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("gateway.rate.limit.requests").tag("route", "assets-service").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,123 @@
+package com.gatewayservice.filter;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "request-coalescing.max-wait=500ms")
+class RequestCoalescingGatewayFilterFactoryTest {
+
+    @RegisterExtension
+    static WireMockExtension MOCK_ASSETS_API = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @DynamicPropertySource
+    static void assetsServiceInstance(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.discovery.client.simple.instances.assets-service[0].uri",
+                () -> "http://localhost:" + MOCK_ASSETS_API.getPort());
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private WebClient webClient;
+
+    @BeforeEach
+    public void setUp() {
+        webClient = WebClient.create("http://localhost:" + port);
+    }
+
+    @Test
+    void shouldShareOneBackendCall_BetweenConcurrentIdenticalRequests() {
+        // given
+        mockGetAsset("/assets/101", 200);
+        double coalescedBefore = coalesced("coalesced");
+
+        // when
+        List<String> bodies = getConcurrently("/assets/101", 10, "Bearer token");
+
+        // then
+        assertThat(bodies).hasSize(10).allSatisfy(body -> assertThat(body).contains("device"));
+        MOCK_ASSETS_API.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/assets/101")));
+        assertThat(coalesced("coalesced") - coalescedBefore).isPositive();
+    }
+
+    @Test
+    void shouldNotCoalesce_RequestsOfDifferentCallers() {
+        // given
+        mockGetAsset("/assets/102", 200);
+
+        // when
+        Flux.merge(
+                        get("/assets/102", "Bearer first"),
+                        get("/assets/102", "Bearer second"))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // then
+        MOCK_ASSETS_API.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo("/assets/102")));
+    }
+
+    @Test
+    void shouldCallBackend_IfInFlightRequestTakesLongerThanMaxWait() {
+        // given
+        mockGetAsset("/assets/103", 1500);
+        double timedOutBefore = coalesced("timeout");
+
+        // when
+        List<String> bodies = getConcurrently("/assets/103", 3, "Bearer token");
+
+        // then
+        assertThat(bodies).hasSize(3);
+        MOCK_ASSETS_API.verify(3, WireMock.getRequestedFor(WireMock.urlEqualTo("/assets/103")));
+        assertThat(coalesced("timeout") - timedOutBefore).isEqualTo(2);
+    }
+
+    private List<String> getConcurrently(String uri, int requests, String authorization) {
+        return Flux.range(0, requests)
+                .flatMap(i -> get(uri, authorization))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+    }
+
+    private Flux<String> get(String uri, String authorization) {
+        return webClient.get().uri(uri)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .retrieve()
+                .bodyToFlux(String.class);
+    }
+
+    private double coalesced(String result) {
+        return meterRegistry.get("gateway.coalescing.requests").tag("result", result).counter().count();
+    }
+
+    private static void mockGetAsset(String url, int delayMillis) {
+        MOCK_ASSETS_API.stubFor(WireMock.get(url).willReturn(aResponse()
+                .withStatus(200)
+                .withFixedDelay(delayMillis)
+                .withHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                .withBody("{\"assetId\":1,\"name\":\"device\"}")));
+    }
+}
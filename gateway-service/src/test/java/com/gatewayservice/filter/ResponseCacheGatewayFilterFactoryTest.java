@@ -0,0 +1,179 @@
+package com.gatewayservice.filter;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final String ASSET_URL = "/assets/1";
+    private static final String USER_ASSETS_URL = "/users/7/assets";
+
+    @RegisterExtension
+    static WireMockExtension MOCK_ASSETS_API = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @DynamicPropertySource
+    static void assetsServiceInstance(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.discovery.client.simple.instances.assets-service[0].uri",
+                () -> "http://localhost:" + MOCK_ASSETS_API.getPort());
+        // user-service is answered by the same mock, for its responses that contain assets.
+        registry.add("spring.cloud.discovery.client.simple.instances.user-service[0].uri",
+                () -> "http://localhost:" + MOCK_ASSETS_API.getPort());
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        // Drops whatever earlier tests left in the cache.
+        MOCK_ASSETS_API.stubFor(WireMock.delete(ASSET_URL).willReturn(aResponse().withStatus(200)));
+        webTestClient.delete().uri(ASSET_URL).exchange().expectStatus().isOk().expectBody().isEmpty();
+        MOCK_ASSETS_API.resetAll();
+    }
+
+    @Test
+    void shouldServeRepeatedGet_FromCache() {
+        // given
+        mockGetAsset("device1");
+        assertThat(xCache(get(ASSET_URL, null))).isEqualTo("MISS");
+
+        // when
+        EntityExchangeResult<String> cached = get(ASSET_URL, null);
+
+        // then
+        assertThat(xCache(cached)).isEqualTo("HIT");
+        assertThat(cached.getResponseBody()).contains("\"name\":\"device1\"");
+        MOCK_ASSETS_API.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo(ASSET_URL)));
+        assertThat(meterRegistry.get("gateway.response.cache.hit.ratio").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("gateway.response.cache.memory").gauge().value()).isPositive();
+    }
+
+    @Test
+    void shouldNotShareCachedResponses_BetweenCallers() {
+        // given
+        mockGetAsset("device1");
+        get(ASSET_URL, "Bearer first");
+
+        // when
+        get(ASSET_URL, "Bearer second");
+        get(ASSET_URL, "Bearer first");
+
+        // then
+        MOCK_ASSETS_API.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo(ASSET_URL)));
+    }
+
+    @Test
+    void shouldKeySeparateEntries_ByVaryHeaders() {
+        // given
+        MOCK_ASSETS_API.stubFor(WireMock.get(ASSET_URL).withHeader("Accept-Language", WireMock.equalTo("en"))
+                .willReturn(assetResponse("device").withHeader(HttpHeaders.VARY, "Accept-Language")));
+        MOCK_ASSETS_API.stubFor(WireMock.get(ASSET_URL).withHeader("Accept-Language", WireMock.equalTo("de"))
+                .willReturn(assetResponse("Gerät").withHeader(HttpHeaders.VARY, "Accept-Language")));
+        assertThat(getWithLanguage("en").getResponseBody()).contains("\"name\":\"device\"");
+
+        // when
+        EntityExchangeResult<String> german = getWithLanguage("de");
+
+        // then
+        assertThat(xCache(german)).isEqualTo("MISS");
+        assertThat(german.getResponseBody()).contains("\"name\":\"Gerät\"");
+        assertThat(xCache(getWithLanguage("en"))).isEqualTo("HIT");
+    }
+
+    @Test
+    void shouldInvalidateCachedResponses_UnderPathPrefixOfWrite() {
+        // given
+        mockGetAsset("device1");
+        get(ASSET_URL, null);
+        MOCK_ASSETS_API.stubFor(WireMock.put("/assets").willReturn(aResponse().withStatus(200)));
+
+        // when
+        webTestClient.put().uri("/assets").bodyValue("{}").header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .exchange().expectStatus().isOk().expectBody().isEmpty();
+
+        // then
+        assertThat(xCache(get(ASSET_URL, null))).isEqualTo("MISS");
+        MOCK_ASSETS_API.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo(ASSET_URL)));
+    }
+
+    @Test
+    void shouldInvalidateCachedUserAssets_OnAssetWrite() {
+        // given
+        MOCK_ASSETS_API.stubFor(WireMock.get(USER_ASSETS_URL).willReturn(assetResponse("device1")));
+        get(USER_ASSETS_URL, null);
+        assertThat(xCache(get(USER_ASSETS_URL, null))).isEqualTo("HIT");
+        MOCK_ASSETS_API.stubFor(WireMock.put("/assets").willReturn(aResponse().withStatus(200)));
+
+        // when
+        webTestClient.put().uri("/assets").bodyValue("{}").header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .exchange().expectStatus().isOk().expectBody().isEmpty();
+
+        // then
+        assertThat(xCache(get(USER_ASSETS_URL, null))).isEqualTo("MISS");
+        MOCK_ASSETS_API.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo(USER_ASSETS_URL)));
+    }
+
+    @Test
+    void shouldNotCacheResponses_MarkedNoStore() {
+        // given
+        MOCK_ASSETS_API.stubFor(WireMock.get(ASSET_URL)
+                .willReturn(assetResponse("device1").withHeader(HttpHeaders.CACHE_CONTROL, "no-store")));
+
+        // when
+        get(ASSET_URL, null);
+        get(ASSET_URL, null);
+
+        // then
+        MOCK_ASSETS_API.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo(ASSET_URL)));
+    }
+
+    // The body is read in full, so the response has been stored by the time the next request is sent.
+    private EntityExchangeResult<String> get(String uri, String authorization) {
+        WebTestClient.RequestHeadersSpec<?> request = webTestClient.get().uri(uri);
+        if (authorization != null) {
+            request = request.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return request.exchange().expectStatus().isOk().expectBody(String.class).returnResult();
+    }
+
+    private EntityExchangeResult<String> getWithLanguage(String language) {
+        return webTestClient.get().uri(ASSET_URL).header(HttpHeaders.ACCEPT_LANGUAGE, language)
+                .exchange().expectStatus().isOk().expectBody(String.class).returnResult();
+    }
+
+    private static String xCache(EntityExchangeResult<String> result) {
+        return result.getResponseHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE);
+    }
+
+    private static void mockGetAsset(String name) {
+        MOCK_ASSETS_API.stubFor(WireMock.get(ASSET_URL).willReturn(assetResponse(name)));
+    }
+
+    private static com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder assetResponse(String name) {
+        return aResponse()
+                .withStatus(200)
+                .withHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                .withBody("{\"assetId\":1,\"name\":\"" + name + "\"}");
+    }
+}
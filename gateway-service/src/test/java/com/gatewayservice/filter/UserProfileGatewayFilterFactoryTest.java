@@ -0,0 +1,129 @@
+package com.gatewayservice.filter;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "user-profile.deadline=500ms")
+class UserProfileGatewayFilterFactoryTest {
+
+    @RegisterExtension
+    static WireMockExtension USER_SERVICE = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @RegisterExtension
+    static WireMockExtension ASSETS_SERVICE = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @DynamicPropertySource
+    static void serviceInstances(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.discovery.client.simple.instances.user-service[0].uri",
+                () -> "http://localhost:" + USER_SERVICE.getPort());
+        registry.add("spring.cloud.discovery.client.simple.instances.assets-service[0].uri",
+                () -> "http://localhost:" + ASSETS_SERVICE.getPort());
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void shouldMergeUserAndAssets() {
+        // given
+        mockGet(USER_SERVICE, "/users/501", 200, "{\"userId\":501,\"name\":\"user\"}", 0);
+        mockGet(ASSETS_SERVICE, "/assets/users/501", 200, "{\"assets\":[{\"assetId\":1,\"name\":\"device\"}],\"next\":null}", 0);
+
+        // when / then
+        webTestClient.get().uri("/users/501/profile")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.user.name").isEqualTo("user")
+                .jsonPath("$.assets.assets[0].name").isEqualTo("device")
+                .jsonPath("$.assetsStatus").isEqualTo("OK");
+        USER_SERVICE.verify(WireMock.getRequestedFor(WireMock.urlEqualTo("/users/501"))
+                .withHeader(HttpHeaders.AUTHORIZATION, WireMock.equalTo("Bearer token")));
+    }
+
+    @Test
+    void shouldAnswerWithoutAssets_IfAssetsMissTheDeadline() {
+        // given
+        mockGet(USER_SERVICE, "/users/502", 200, "{\"userId\":502,\"name\":\"user\"}", 100);
+        mockGet(ASSETS_SERVICE, "/assets/users/502", 200, "{\"assets\":[],\"next\":null}", 2000);
+
+        // when
+        long start = System.nanoTime();
+        webTestClient.get().uri("/users/502/profile").exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(CacheControl.noStore())
+                .expectBody()
+                .jsonPath("$.user.name").isEqualTo("user")
+                .jsonPath("$.assets").doesNotExist()
+                .jsonPath("$.assetsStatus").isEqualTo("TIMED_OUT");
+
+        // then
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1500));
+    }
+
+    @Test
+    void shouldAnswerWithEmptyAssets_IfUserHasNone() {
+        // given
+        mockGet(USER_SERVICE, "/users/503", 200, "{\"userId\":503,\"name\":\"user\"}", 0);
+        mockGet(ASSETS_SERVICE, "/assets/users/503", 404, "{\"errors\":[]}", 0);
+
+        // when / then
+        webTestClient.get().uri("/users/503/profile").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.assets.assets").isEmpty()
+                .jsonPath("$.assetsStatus").isEqualTo("OK");
+    }
+
+    @Test
+    void shouldFail_IfUserServiceFails() {
+        // given
+        mockGet(USER_SERVICE, "/users/504", 500, "{}", 0);
+        mockGet(ASSETS_SERVICE, "/assets/users/504", 200, "{\"assets\":[],\"next\":null}", 0);
+
+        // when / then
+        webTestClient.get().uri("/users/504/profile").exchange()
+                .expectStatus().isEqualTo(503)
+                .expectBody()
+                .jsonPath("$.errors[0].code").isEqualTo("DEPENDENCY_UNAVAILABLE");
+    }
+
+    @Test
+    void shouldAnswerNotFound_IfUserIsUnknown() {
+        // given
+        mockGet(USER_SERVICE, "/users/505", 200, "", 0);
+        mockGet(ASSETS_SERVICE, "/assets/users/505", 404, "{\"errors\":[]}", 0);
+
+        // when / then
+        webTestClient.get().uri("/users/505/profile").exchange()
+                .expectStatus().isNotFound()
+                .expectBody().returnResult();
+    }
+
+    private static void mockGet(WireMockExtension service, String url, int status, String body, int delay) {
+        service.stubFor(WireMock.get(url)
+                .willReturn(aResponse().withStatus(status).withFixedDelay(delay)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                        .withBody(body)));
+    }
+}
@@ -0,0 +1,74 @@
+package com.gatewayservice.helper;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LatencyAwareLoadBalancerTest {
+
+    private static final String ASSET_URL = "/assets/301";
+
+    @RegisterExtension
+    static WireMockExtension FAST_INSTANCE = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @RegisterExtension
+    static WireMockExtension SLOW_INSTANCE = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @DynamicPropertySource
+    static void assetsServiceInstances(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.discovery.client.simple.instances.assets-service[0].uri",
+                () -> "http://localhost:" + FAST_INSTANCE.getPort());
+        registry.add("spring.cloud.discovery.client.simple.instances.assets-service[1].uri",
+                () -> "http://localhost:" + SLOW_INSTANCE.getPort());
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldSendMostRequests_ToTheFasterInstance() {
+        // given
+        mockGetAsset(FAST_INSTANCE, 0);
+        mockGetAsset(SLOW_INSTANCE, 300);
+
+        // when
+        for (int i = 0; i < 40; i++) {
+            webTestClient.get().uri(ASSET_URL).exchange().expectStatus().isOk().expectBody().returnResult();
+        }
+
+        // then
+        int slowCalls = SLOW_INSTANCE.countRequestsMatching(WireMock.getRequestedFor(WireMock.urlEqualTo(ASSET_URL)).build()).getCount();
+        assertThat(slowCalls).isBetween(0, 4);
+        assertThat(meterRegistry.get("loadbalancer.instance.score").tag("service", "assets-service").gauges())
+                .hasSize(2)
+                .allSatisfy(gauge -> assertThat(gauge.value()).isPositive());
+    }
+
+    private static void mockGetAsset(WireMockExtension instance, int delay) {
+        instance.stubFor(WireMock.get(ASSET_URL)
+                .willReturn(aResponse().withStatus(200).withFixedDelay(delay)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                        .withHeader(HttpHeaders.CACHE_CONTROL, "no-store")
+                        .withBody("{\"assetId\":301,\"name\":\"device\"}")));
+    }
+}
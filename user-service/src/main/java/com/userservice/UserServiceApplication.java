@@ -2,10 +2,12 @@ package com.userservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
-@SpringBootApplication
+// R2DBC is only used by the reactive read API, which creates its own pool (see ReactiveApiConfiguration).
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @EnableFeignClients
 @EnableJpaAuditing
 public class UserServiceApplication {
@@ -1,13 +1,22 @@
 package com.userservice.client;
 
+import com.userservice.config.AssetClientConfiguration;
 import com.userservice.model.client.response.AssetsResponse;
+import com.userservice.model.client.response.UsersAssetsResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "assets-service")
+import java.util.Set;
+
+@FeignClient(name = "assets-service", configuration = AssetClientConfiguration.class)
 public interface AssetClient {
 
     @GetMapping("/assets/users/{userId}")
-    AssetsResponse getUserAssets(@PathVariable("userId") Integer userId);
+    AssetsResponse getUserAssets(@PathVariable("userId") Integer userId,
+                                 @RequestParam(name = "after", required = false) String after);
+
+    @GetMapping("/assets/users")
+    UsersAssetsResponse getUsersAssets(@RequestParam("userIds") Set<Integer> userIds);
 }
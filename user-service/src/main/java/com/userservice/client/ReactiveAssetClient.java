@@ -0,0 +1,68 @@
+package com.userservice.client;
+
+import com.userservice.exception.DependencyUnavailableException;
+import com.userservice.model.client.response.AssetsResponse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Optional;
+
+// Non-blocking counterpart of AssetClient for the reactive read API. Calls go through the same bulkhead and circuit
+// breaker as the Feign client (see ResilientFeignClient): I/O errors and 5xx count as failures, other answers as
+// successes. The bulkhead is only tried, never waited on, as waiting would block the event loop.
+public class ReactiveAssetClient {
+
+    private final WebClient webClient;
+    private final String name;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+
+    public ReactiveAssetClient(WebClient webClient, String name, Bulkhead bulkhead, CircuitBreaker circuitBreaker) {
+        this.webClient = webClient;
+        this.name = name;
+        this.bulkhead = bulkhead;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public Mono<AssetsResponse> getUserAssets(Integer userId, String after) {
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquirePermission()) {
+                return Mono.error(new DependencyUnavailableException(name, BulkheadFullException.createBulkheadFullException(bulkhead)));
+            }
+            if (!circuitBreaker.tryAcquirePermission()) {
+                bulkhead.onComplete();
+                return Mono.error(new DependencyUnavailableException(name, CallNotPermittedException.createCallNotPermittedException(circuitBreaker)));
+            }
+
+            long start = circuitBreaker.getCurrentTimestamp();
+            return webClient.get()
+                    .uri(uri -> uri.path("/assets/users/{userId}")
+                            .queryParamIfPresent("after", Optional.ofNullable(after))
+                            .build(userId))
+                    .retrieve()
+                    .bodyToMono(AssetsResponse.class)
+                    .doOnSuccess(response -> circuitBreaker.onSuccess(circuitBreaker.getCurrentTimestamp() - start,
+                            circuitBreaker.getTimestampUnit()))
+                    .doOnError(e -> {
+                        long duration = circuitBreaker.getCurrentTimestamp() - start;
+                        if (e instanceof WebClientResponseException response && !response.getStatusCode().is5xxServerError()) {
+                            circuitBreaker.onSuccess(duration, circuitBreaker.getTimestampUnit());
+                        } else {
+                            circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(), e);
+                        }
+                    })
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            circuitBreaker.releasePermission();
+                        }
+                        bulkhead.onComplete();
+                    });
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.userservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "asset-client.cache")
+public record AssetClientCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        // How long a response is served without asking assets-service.
+        @DefaultValue("30s") Duration ttl,
+        // How long after ttl a response may still be served while it is revalidated in the background,
+        // which also covers assets-service being slow or down for that long.
+        @DefaultValue("5m") Duration staleWhileRevalidate,
+        @DefaultValue("10000") long maximumSize
+) {}
@@ -0,0 +1,61 @@
+package com.userservice.config;
+
+import com.userservice.helper.CachingFeignClient;
+import com.userservice.helper.ResilientFeignClient;
+import feign.Capability;
+import feign.Client;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Clock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Feign configuration of AssetClient only. Deliberately not a @Configuration, so it is not picked up by
+// component scanning and applied to every Feign client.
+public class AssetClientConfiguration {
+
+    // Also the name of the resilience4j bulkhead and circuit breaker instances.
+    public static final String CLIENT_NAME = "assets-service";
+
+    // One executor for all background revalidations, closed with the client's context.
+    @Bean(destroyMethod = "close")
+    public ExecutorService assetClientRevalidationExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public Capability assetClientCapability(AssetClientCacheProperties cacheProperties, MeterRegistry registry,
+                                            BulkheadRegistry bulkheadRegistry, CircuitBreakerRegistry circuitBreakerRegistry,
+                                            ExecutorService assetClientRevalidationExecutor) {
+        return new AssetClientCapability(cacheProperties, registry, bulkheadRegistry, circuitBreakerRegistry,
+                assetClientRevalidationExecutor);
+    }
+
+    // Public, as Feign looks up and invokes enrich(Client) reflectively.
+    @AllArgsConstructor
+    public static class AssetClientCapability implements Capability {
+
+        private final AssetClientCacheProperties cacheProperties;
+        private final MeterRegistry registry;
+        private final BulkheadRegistry bulkheadRegistry;
+        private final CircuitBreakerRegistry circuitBreakerRegistry;
+        private final ExecutorService revalidationExecutor;
+
+        // The cache sits in front of the bulkhead and circuit breaker, so cached and stale responses are
+        // still served while the breaker is open.
+        @Override
+        public Client enrich(Client client) {
+            Client resilient = new ResilientFeignClient(client, CLIENT_NAME,
+                    bulkheadRegistry.bulkhead(CLIENT_NAME), circuitBreakerRegistry.circuitBreaker(CLIENT_NAME));
+            if (!cacheProperties.enabled()) {
+                return resilient;
+            }
+            return new CachingFeignClient(resilient, CLIENT_NAME, cacheProperties, registry,
+                    revalidationExecutor, Clock.systemUTC());
+        }
+    }
+}
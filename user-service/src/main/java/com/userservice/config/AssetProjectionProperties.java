@@ -0,0 +1,17 @@
+package com.userservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Local projection of asset ownership that serves GET /users/{id}/assets without calling assets-service.
+@ConfigurationProperties(prefix = "asset-projection")
+public record AssetProjectionProperties(
+        @DefaultValue("false") boolean enabled,
+        // How long after the last full load from assets-service the assets of a user are served from the projection
+        // alone; change events keep it current in between, this bounds the damage of a lost event.
+        @DefaultValue("10m") Duration maxStaleness,
+        // Shared secret assets-service sends with every batch of change events; without one, all events are rejected.
+        String eventToken
+) {}
@@ -0,0 +1,55 @@
+package com.userservice.config;
+
+import com.userservice.helper.AsyncAuditListener;
+import com.userservice.helper.AsyncAuditWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// Switches auditing from Envers' in-transaction writes to AsyncAuditListener + AsyncAuditWriter.
+// Envers stays enabled for its metadata, so AuditReader keeps working on the rows written here.
+@Configuration
+@ConditionalOnProperty(prefix = "audit", name = "mode", havingValue = "async")
+@EnableConfigurationProperties(AuditProperties.class)
+public class AsyncAuditConfiguration {
+
+    private static final String ENVERS_AUTO_REGISTER_LISTENERS = "hibernate.envers.autoRegisterListeners";
+
+    @Bean
+    public HibernatePropertiesCustomizer disableEnversListeners() {
+        return properties -> properties.put(ENVERS_AUTO_REGISTER_LISTENERS, false);
+    }
+
+    @Bean
+    public AsyncAuditWriter asyncAuditWriter(AuditProperties properties, EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                                             PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        return new AsyncAuditWriter(properties.async(), entityManager, jdbcTemplate, transactionManager, registry);
+    }
+
+    @Bean
+    public AsyncAuditListener asyncAuditListener(
+            EntityManagerFactory entityManagerFactory, AsyncAuditWriter writer,
+            @Value("${spring.jpa.properties.org.hibernate.envers.audit_table_suffix:_aud}") String auditTableSuffix,
+            @Value("${spring.jpa.properties.org.hibernate.envers.revision_field_name:rev}") String revisionFieldName,
+            @Value("${spring.jpa.properties.org.hibernate.envers.revision_type_field_name:revtype}") String revisionTypeFieldName) {
+        AsyncAuditListener listener = new AsyncAuditListener(writer, auditTableSuffix, revisionFieldName, revisionTypeFieldName);
+        EventListenerRegistry listenerRegistry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        listenerRegistry.appendListeners(EventType.POST_INSERT, listener);
+        listenerRegistry.appendListeners(EventType.POST_UPDATE, listener);
+        listenerRegistry.appendListeners(EventType.POST_DELETE, listener);
+        return listener;
+    }
+}
@@ -0,0 +1,37 @@
+package com.userservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "audit")
+public record AuditProperties(
+        @DefaultValue("sync") Mode mode,
+        @DefaultValue Async async
+) {
+
+    public enum Mode {
+        // Envers writes the audit rows inside the business transaction.
+        SYNC,
+        // Changes are captured in the transaction and written after commit by a background writer.
+        ASYNC
+    }
+
+    public enum Durability {
+        // The committing thread returns as soon as the revision is queued; queued revisions are lost on a crash.
+        BEST_EFFORT,
+        // The committing thread waits until the writer has persisted the batch its revision ended up in.
+        AWAIT_WRITE
+    }
+
+    public record Async(
+            @DefaultValue("10000") int queueCapacity,
+            @DefaultValue("500") int batchSize,
+            @DefaultValue("200ms") Duration flushInterval,
+            // A committing thread held longer than this by a full queue is counted in audit.backpressure.caller.waits.
+            @DefaultValue("50ms") Duration enqueueTimeout,
+            @DefaultValue("best_effort") Durability durability,
+            @DefaultValue("5s") Duration awaitTimeout
+    ) {}
+}
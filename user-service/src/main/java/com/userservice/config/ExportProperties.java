@@ -0,0 +1,14 @@
+package com.userservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// GET /users/export runs as an async request, but under this timeout instead of spring.mvc.async.request-timeout,
+// which would otherwise cut off any export that takes longer than Tomcat's default of 30s.
+@ConfigurationProperties(prefix = "export")
+public record ExportProperties(
+        // Zero means no timeout.
+        @DefaultValue("0") Duration timeout
+) {}
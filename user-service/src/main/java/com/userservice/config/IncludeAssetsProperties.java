@@ -0,0 +1,15 @@
+package com.userservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Fan-out of the per-user asset lookups behind GET /users?includeAssets=true.
+@ConfigurationProperties(prefix = "include-assets")
+public record IncludeAssetsProperties(
+        // Maximum number of calls to assets-service in flight for one request.
+        @DefaultValue("16") int concurrency,
+        // Budget for the whole request; users whose lookup has not finished by then are returned as TIMED_OUT.
+        @DefaultValue("2s") Duration deadline
+) {}
@@ -0,0 +1,106 @@
+package com.userservice.config;
+
+import com.userservice.client.ReactiveAssetClient;
+import com.userservice.controller.ReactiveUserHandler;
+import com.userservice.helper.ReactiveApiServer;
+import com.userservice.repository.ReactiveAssetOwnershipRepository;
+import com.userservice.repository.ReactiveUserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.netty.channel.ChannelOption;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.http.client.HttpClient;
+
+// Non-blocking read API: GET /users/{id} over R2DBC and GET /users/{id}/assets over a reactive WebClient, served by
+// its own Netty server on reactive-api.port. The servlet endpoints stay as they are.
+// The R2DBC pool is not exposed as a ConnectionFactory bean, as Boot would then back off from creating the JDBC
+// DataSource; R2dbcAutoConfiguration is excluded on UserServiceApplication for the same reason.
+@Configuration
+@EnableConfigurationProperties(ReactiveApiProperties.class)
+@ConditionalOnProperty(prefix = "reactive-api", name = "enabled", havingValue = "true")
+public class ReactiveApiConfiguration implements DisposableBean {
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ReactiveApiProperties properties) {
+        ReactiveApiProperties.R2dbc r2dbc = properties.r2dbc();
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(r2dbc.url()).mutate();
+        if (r2dbc.username() != null) {
+            options.option(ConnectionFactoryOptions.USER, r2dbc.username());
+        }
+        if (r2dbc.password() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, r2dbc.password());
+        }
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .initialSize(r2dbc.initialSize())
+                .maxSize(r2dbc.maxSize())
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public ReactiveAssetClient reactiveAssetClient(ReactiveApiProperties properties, WebClient.Builder webClientBuilder,
+                                                   ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                                                   BulkheadRegistry bulkheadRegistry, CircuitBreakerRegistry circuitBreakerRegistry) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+                .responseTimeout(properties.responseTimeout());
+        return new ReactiveAssetClient(webClientBuilder.clone()
+                .baseUrl(properties.assetsServiceUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(loadBalancer)
+                .build(),
+                AssetClientConfiguration.CLIENT_NAME,
+                bulkheadRegistry.bulkhead(AssetClientConfiguration.CLIENT_NAME),
+                circuitBreakerRegistry.circuitBreaker(AssetClientConfiguration.CLIENT_NAME));
+    }
+
+    @Bean
+    public ReactiveUserHandler reactiveUserHandler(DatabaseClient reactiveDatabaseClient, ReactiveAssetClient reactiveAssetClient,
+                                                   AssetProjectionProperties projectionProperties) {
+        return new ReactiveUserHandler(new ReactiveUserRepository(reactiveDatabaseClient),
+                new ReactiveAssetOwnershipRepository(reactiveDatabaseClient), reactiveAssetClient, projectionProperties);
+    }
+
+    @Bean
+    public ReactiveApiServer reactiveApiServer(ReactiveApiProperties properties, ReactiveUserHandler handler, ObjectMapper objectMapper) {
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .GET("/users/{id}/assets", handler::getUserAssets)
+                .GET("/users/{id}", handler::getUser)
+                .build();
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveApiServer(properties.port(), RouterFunctions.toHttpHandler(routes, strategies));
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
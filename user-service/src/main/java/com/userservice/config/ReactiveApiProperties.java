@@ -0,0 +1,29 @@
+package com.userservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Non-blocking read API served by a separate Netty server next to the servlet one (see ReactiveApiConfiguration).
+@ConfigurationProperties(prefix = "reactive-api")
+public record ReactiveApiProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("8093") int port,
+        // Resolved through the load balancer, like the Feign AssetClient.
+        @DefaultValue("http://assets-service") String assetsServiceUrl,
+        @DefaultValue("1s") Duration connectTimeout,
+        @DefaultValue("3s") Duration responseTimeout,
+        @DefaultValue R2dbc r2dbc
+) {
+
+    // Kept apart from spring.r2dbc: a ConnectionFactory bean would make Boot back off from the JDBC DataSource
+    // the servlet side and Flyway depend on.
+    public record R2dbc(
+            String url,
+            String username,
+            String password,
+            @DefaultValue("5") int initialSize,
+            @DefaultValue("20") int maxSize
+    ) {}
+}
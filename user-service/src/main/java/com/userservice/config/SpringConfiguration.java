@@ -3,15 +3,27 @@ package com.userservice.config;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.userservice.helper.InstanceLatencies;
 import feign.Capability;
 import feign.micrometer.MicrometerCapability;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS;
 
 @Configuration
+@EnableConfigurationProperties({AssetClientCacheProperties.class, AssetProjectionProperties.class, ExportProperties.class,
+        IncludeAssetsProperties.class, LoadBalancerProperties.class})
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
 public class SpringConfiguration {
 
     @Bean
@@ -26,4 +38,21 @@ public class SpringConfiguration {
     public Capability capability(final MeterRegistry registry) {
         return new MicrometerCapability(registry);
     }
+
+    // Pool gauges (leased, pending, available, max) of the shared HttpClient 5 connection pool behind the Feign clients.
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> connectionManager.ifAvailable(manager -> {
+            if (manager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        });
+    }
+
+    // Also the load balancer lifecycle of every load-balanced call, which is looked up in the parent of each service's context.
+    @Bean
+    @ConditionalOnProperty(prefix = "load-balancer", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public InstanceLatencies instanceLatencies(LoadBalancerProperties properties, MeterRegistry registry) {
+        return new InstanceLatencies(properties, registry);
+    }
 }
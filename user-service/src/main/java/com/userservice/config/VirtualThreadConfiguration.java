@@ -0,0 +1,24 @@
+package com.userservice.config;
+
+import com.userservice.helper.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Active with spring.threads.virtual.enabled=true (the virtual-threads profile), which also moves Tomcat's
+// request handling, and with it the JPA work and Feign calls done on request threads, onto virtual threads.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${virtual-threads.pinning-threshold:20ms}") Duration threshold, MeterRegistry registry) {
+        return new VirtualThreadPinningMonitor(threshold, registry);
+    }
+}
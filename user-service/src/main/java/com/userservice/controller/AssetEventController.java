@@ -0,0 +1,45 @@
+package com.userservice.controller;
+
+import com.userservice.config.AssetProjectionProperties;
+import com.userservice.exception.InvalidEventTokenException;
+import com.userservice.model.event.AssetChangeEvent;
+import com.userservice.service.AssetProjectionService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+// Receives asset change events pushed by assets-service. The gateway answers /user-service/internal/** with a 404,
+// and every batch must carry asset-projection.event-token, as events can move assets between users.
+// Events are applied even while asset-projection.enabled is false, so the projection can be warmed up before reads
+// are switched over to it.
+@AllArgsConstructor
+
+@RestController
+@RequestMapping("/internal/asset-events")
+public class AssetEventController {
+
+    public static final String TOKEN_HEADER = "X-Asset-Events-Token";
+
+    private final AssetProjectionService assetProjectionService;
+    private final AssetProjectionProperties projectionProperties;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void receiveEvents(@RequestHeader(name = TOKEN_HEADER, required = false) String token,
+                              @RequestBody List<AssetChangeEvent> events) {
+        if (!isValid(token)) {
+            throw new InvalidEventTokenException();
+        }
+        assetProjectionService.apply(events);
+    }
+
+    private boolean isValid(String token) {
+        String expected = projectionProperties.eventToken();
+        return expected != null && !expected.isEmpty() && token != null
+                && MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,19 @@
+package com.userservice.controller;
+
+import com.userservice.exception.BaseRuntimeException;
+import com.userservice.model.response.ErrorModel;
+import com.userservice.model.response.ErrorResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+@ControllerAdvice
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(BaseRuntimeException.class)
+    protected ResponseEntity<Object> handleBaseRuntime(BaseRuntimeException e) {
+        ErrorResponse errorResponse = new ErrorResponse(new ErrorModel(e.getMessage(), e.getCode()));
+        return new ResponseEntity<>(errorResponse, e.getStatus());
+    }
+}
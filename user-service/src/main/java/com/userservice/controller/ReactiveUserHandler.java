@@ -0,0 +1,123 @@
+package com.userservice.controller;
+
+import com.userservice.client.ReactiveAssetClient;
+import com.userservice.config.AssetProjectionProperties;
+import com.userservice.exception.BaseRuntimeException;
+import com.userservice.exception.DependencyUnavailableException;
+import com.userservice.exception.InvalidUserIdException;
+import com.userservice.helper.AssetCursor;
+import com.userservice.model.client.response.AssetResponse;
+import com.userservice.model.client.response.AssetsResponse;
+import com.userservice.model.response.ErrorModel;
+import com.userservice.model.response.ErrorResponse;
+import com.userservice.repository.ReactiveAssetOwnershipRepository;
+import com.userservice.repository.ReactiveUserRepository;
+import com.userservice.service.AssetProjectionService;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+// Non-blocking counterparts of GET /users/{id} and GET /users/{id}/assets of UserController; see ReactiveApiConfiguration.
+public class ReactiveUserHandler {
+
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveAssetOwnershipRepository assetOwnershipRepository;
+    private final ReactiveAssetClient assetClient;
+    private final AssetProjectionProperties projectionProperties;
+
+    public ReactiveUserHandler(ReactiveUserRepository userRepository, ReactiveAssetOwnershipRepository assetOwnershipRepository,
+                               ReactiveAssetClient assetClient, AssetProjectionProperties projectionProperties) {
+        this.userRepository = userRepository;
+        this.assetOwnershipRepository = assetOwnershipRepository;
+        this.assetClient = assetClient;
+        this.projectionProperties = projectionProperties;
+    }
+
+    public Mono<ServerResponse> getUser(ServerRequest request) {
+        // Same answer as the servlet endpoint: an empty 200 for unknown users.
+        return userId(request)
+                .flatMap(userId -> userRepository.findById(userId)
+                        .flatMap(user -> ServerResponse.ok().bodyValue(user))
+                        .switchIfEmpty(ServerResponse.ok().build()))
+                .onErrorResume(BaseRuntimeException.class, ReactiveUserHandler::error);
+    }
+
+    public Mono<ServerResponse> getUserAssets(ServerRequest request) {
+        String after = request.queryParam("after").filter(cursor -> !cursor.isEmpty()).orElse(null);
+
+        return userId(request)
+                .flatMap(userId -> userAssets(userId, after))
+                .flatMap(response -> ServerResponse.ok().bodyValue(response))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> ServerResponse.notFound().build())
+                .onErrorResume(ReactiveUserHandler::isUnavailable,
+                        e -> error(new DependencyUnavailableException("assets-service", (Exception) e)))
+                .onErrorResume(WebClientResponseException.class, ReactiveUserHandler::relay)
+                .onErrorResume(BaseRuntimeException.class, ReactiveUserHandler::error);
+    }
+
+    private Mono<AssetsResponse> userAssets(Integer userId, String after) {
+        Mono<AssetsResponse> remote = assetClient.getUserAssets(userId, after);
+        if (!projectionProperties.enabled()) {
+            return remote;
+        }
+        return Mono.fromCallable(() -> after == null ? 0 : AssetCursor.decode(after))
+                .flatMap(lastSeenId -> readProjection(userId, lastSeenId))
+                .switchIfEmpty(Mono.defer(() -> remote));
+    }
+
+    // Only read while fresh; unlike AssetProjectionServiceImpl this path never writes the projection, so staleness
+    // and missing users are left to assets-service.
+    private Mono<AssetsResponse> readProjection(Integer userId, Integer lastSeenId) {
+        LocalDateTime freshSince = LocalDateTime.now().minus(projectionProperties.maxStaleness());
+        return assetOwnershipRepository.findSyncedAt(userId)
+                .filter(syncedAt -> syncedAt.isAfter(freshSince))
+                .flatMap(syncedAt -> assetOwnershipRepository
+                        .findByUserId(userId, lastSeenId, AssetProjectionService.PAGE_SIZE + 1)
+                        .collectList())
+                .filter(assets -> !assets.isEmpty() || lastSeenId != 0)
+                .map(ReactiveUserHandler::toPage);
+    }
+
+    private static AssetsResponse toPage(List<AssetResponse> assets) {
+        // One extra row tells us whether there is a next page.
+        boolean hasNext = assets.size() > AssetProjectionService.PAGE_SIZE;
+        List<AssetResponse> content = hasNext ? assets.subList(0, AssetProjectionService.PAGE_SIZE) : assets;
+        String next = hasNext ? AssetCursor.encode(content.get(content.size() - 1).assetId()) : null;
+        return new AssetsResponse(content, next);
+    }
+
+    // A 400 like the servlet endpoints give for a path variable that doesn't convert.
+    private static Mono<Integer> userId(ServerRequest request) {
+        return Mono.fromCallable(() -> Integer.valueOf(request.pathVariable("id")))
+                .onErrorMap(NumberFormatException.class, InvalidUserIdException::new);
+    }
+
+    private static boolean isUnavailable(Throwable e) {
+        return e instanceof WebClientRequestException
+                || e instanceof TimeoutException
+                || e instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError();
+    }
+
+    // Any other answer of assets-service (a 400 INVALID_CURSOR, for one) is the caller's to see, status and body as sent.
+    private static Mono<ServerResponse> relay(WebClientResponseException e) {
+        ServerResponse.BodyBuilder response = ServerResponse.status(e.getStatusCode());
+        MediaType contentType = e.getHeaders().getContentType();
+        if (contentType != null) {
+            response.contentType(contentType);
+        }
+        return response.bodyValue(e.getResponseBodyAsByteArray());
+    }
+
+    // Mirrors GlobalExceptionHandler.
+    private static Mono<ServerResponse> error(BaseRuntimeException e) {
+        return ServerResponse.status(e.getStatus())
+                .bodyValue(new ErrorResponse(new ErrorModel(e.getMessage(), e.getCode())));
+    }
+}
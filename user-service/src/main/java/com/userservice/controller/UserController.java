@@ -1,13 +1,41 @@
 package com.userservice.controller;
 
+import com.userservice.config.ExportProperties;
+import com.userservice.exception.ConflictingParametersException;
+import com.userservice.exception.TooManyUserIdsException;
 import com.userservice.model.client.response.AssetsResponse;
+import com.userservice.model.client.response.UsersAssetsResponse;
 import com.userservice.model.dto.UserDto;
 import com.userservice.model.response.UserResponse;
+import com.userservice.model.response.UsersBatchResponse;
+import com.userservice.model.response.UsersWithAssetsResponse;
+import com.userservice.service.UserAssetsService;
 import com.userservice.service.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
 @AllArgsConstructor
 
@@ -15,7 +43,17 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/users")
 public class UserController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_CHUNK_SIZE = 5000;
+    private static final int MAX_BATCH_DELETE_IDS = 100_000;
+    // The most assets-service answers in one GET /assets/users call.
+    private static final int MAX_ASSETS_USER_IDS = 500;
+
     private final UserService userService;
+    private final UserAssetsService userAssetsService;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties exportProperties;
+    private final CsvMapper csvMapper = CsvMapper.builder().addModule(new JavaTimeModule()).build();
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -23,11 +61,111 @@ public class UserController {
         userService.addUser(user);
     }
 
+    // Accepts either a JSON array or newline-delimited JSON; both are read incrementally,
+    // so the whole payload never has to be held in memory.
+    @PostMapping(value = "/batch", consumes = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<UsersBatchResponse> saveUsers(InputStream body,
+                                                        @RequestParam(name = "chunkSize", defaultValue = "500") int chunkSize) throws IOException {
+        try (MappingIterator<UserDto> users = objectMapper.readerFor(UserDto.class).readValues(body)) {
+            return batchResponse(userService.addUsers(users, batchChunkSize(chunkSize)), HttpStatus.CREATED);
+        }
+    }
+
+    // CSV with a header line naming the columns, e.g. "name,email"; other columns are ignored.
+    @PostMapping(value = "/batch", consumes = "text/csv")
+    public ResponseEntity<UsersBatchResponse> saveUsersFromCsv(InputStream body,
+                                                               @RequestParam(name = "chunkSize", defaultValue = "500") int chunkSize) throws IOException {
+        try (MappingIterator<UserDto> users = csvMapper.readerFor(UserDto.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValues(body)) {
+            return batchResponse(userService.addUsers(users, batchChunkSize(chunkSize)), HttpStatus.CREATED);
+        }
+    }
+
+    @PostMapping("/batch/delete")
+    public ResponseEntity<UsersBatchResponse> deleteUsers(@RequestBody Set<Integer> userIds,
+                                                          @RequestParam(name = "chunkSize", defaultValue = "500") int chunkSize) {
+        if (userIds.size() > MAX_BATCH_DELETE_IDS) {
+            throw new TooManyUserIdsException(MAX_BATCH_DELETE_IDS);
+        }
+        return batchResponse(userService.deleteUsers(userIds, batchChunkSize(chunkSize)), HttpStatus.OK);
+    }
+
+    // The listing modes share one handler, so that combining them is answered with a 400 instead of an ambiguous
+    // mapping. Each mode answers with its own shape:
+    // - by default a UserResponse, keyset paged by user id; pass the returned next as after to get the following page,
+    // - page=<n> a Page<UserDto>, offset paged with page, size and sort,
+    // - all=true a UserResponse with every user and no next,
+    // - includeAssets=true a UsersWithAssetsResponse, keyset paged like the default, with each user's assets.
     @GetMapping
-    public UserResponse getUsers() {
+    public ResponseEntity<?> getUsers(@RequestParam(name = "after", required = false) String after,
+                                      @RequestParam(name = "size", defaultValue = "20") int size,
+                                      @RequestParam(name = "page", required = false) Integer page,
+                                      @RequestParam(name = "all", defaultValue = "false") boolean all,
+                                      @RequestParam(name = "includeAssets", defaultValue = "false") boolean includeAssets,
+                                      @PageableDefault(page = 0, size = 20, sort = "userId") Pageable pageable) {
+        if (Stream.of(page != null, all, includeAssets).filter(Boolean::booleanValue).count() > 1) {
+            throw new ConflictingParametersException("page", "all=true", "includeAssets=true");
+        }
+        if (page != null) {
+            return ResponseEntity.ok(getUsersPage(pageable));
+        }
+        if (all) {
+            return ResponseEntity.ok(getAllUsers());
+        }
+        if (includeAssets) {
+            return ResponseEntity.ok(getUsersWithAssets(after, pageSize(size)));
+        }
+        return ResponseEntity.ok(getUsersByCursor(after, pageSize(size)));
+    }
+
+    private UserResponse getUsersByCursor(String after, int size) {
+        return userService.findAll(after, size);
+    }
+
+    private Page<UserDto> getUsersPage(Pageable pageable) {
+        return userService.findAll(pageable);
+    }
+
+    // Unpaged, kept for small deployments only: the whole table is loaded into memory.
+    private UserResponse getAllUsers() {
         return userService.findAll();
     }
 
+    // Looks up the assets of a page of users concurrently; see IncludeAssetsProperties for the limits.
+    private UsersWithAssetsResponse getUsersWithAssets(String after, int size) {
+        return userAssetsService.findAllWithAssets(after, size);
+    }
+
+    // Rows are written as they come off the database cursor, so memory use doesn't depend on the table size.
+    // A WebAsyncTask rather than a StreamingResponseBody, so the export gets its own timeout (see ExportProperties).
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportUsers(HttpServletResponse response) {
+        return new WebAsyncTask<>(exportProperties.timeout().toMillis(), () -> {
+            response.setContentType(APPLICATION_NDJSON_VALUE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+                userService.streamAll(user -> {
+                    try {
+                        generator.writeObject(user);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            return null;
+        });
+    }
+
+    @GetMapping("/assets")
+    public UsersAssetsResponse getUsersAssets(@RequestParam("userIds") Set<Integer> userIds) {
+        if (userIds.size() > MAX_ASSETS_USER_IDS) {
+            throw new TooManyUserIdsException(MAX_ASSETS_USER_IDS);
+        }
+        return userService.getUsersAssets(userIds);
+    }
+
     @GetMapping("/{id}")
     public UserDto getUser(@PathVariable("id") Integer userId) {
         return userService.findById(userId);
@@ -35,16 +173,24 @@ public class UserController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable("id") Integer userId) {
-        UserDto user = userService.findById(userId);
-        if (user != null) {
-            userService.delete(userId);
-            return new ResponseEntity<>(HttpStatus.OK);
-        }
-        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(userService.delete(userId) ? HttpStatus.OK : HttpStatus.NOT_FOUND);
     }
 
     @GetMapping("/{id}/assets")
-    public AssetsResponse getUserAssets(@PathVariable("id") Integer userId) {
-        return userService.getUserAssets(userId);
+    public AssetsResponse getUserAssets(@PathVariable("id") Integer userId,
+                                        @RequestParam(name = "after", required = false) String after) {
+        return userService.getUserAssets(userId, after);
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static int batchChunkSize(int chunkSize) {
+        return Math.max(1, Math.min(chunkSize, MAX_BATCH_CHUNK_SIZE));
+    }
+
+    private static ResponseEntity<UsersBatchResponse> batchResponse(UsersBatchResponse response, HttpStatus allSucceeded) {
+        return new ResponseEntity<>(response, response.failed() == 0 ? allSucceeded : HttpStatus.OK);
     }
 }
@@ -0,0 +1,23 @@
+package com.userservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class BaseRuntimeException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final String code;
+
+    public BaseRuntimeException(String message, HttpStatus status, String code) {
+        super(message);
+        this.status = status;
+        this.code = code;
+    }
+
+    public BaseRuntimeException(String message, HttpStatus status, String code, Exception cause) {
+        super(message, cause);
+        this.status = status;
+        this.code = code;
+    }
+}
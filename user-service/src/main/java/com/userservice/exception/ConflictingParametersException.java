@@ -0,0 +1,15 @@
+package com.userservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class ConflictingParametersException extends BaseRuntimeException {
+
+    private static final HttpStatus STATUS = HttpStatus.BAD_REQUEST;
+    private static final String CODE = "CONFLICTING_PARAMETERS";
+
+    public ConflictingParametersException(String... parameters) {
+        super("Only one of " + String.join(", ", parameters) + " can be supplied at once.", STATUS, CODE);
+    }
+}
@@ -0,0 +1,15 @@
+package com.userservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class DependencyUnavailableException extends BaseRuntimeException {
+
+    private static final HttpStatus STATUS = HttpStatus.SERVICE_UNAVAILABLE;
+    private static final String CODE = "DEPENDENCY_UNAVAILABLE";
+
+    public DependencyUnavailableException(String dependency, Exception cause) {
+        super(dependency + " is currently unavailable, please retry later.", STATUS, CODE, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.userservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class InvalidAssetEventException extends BaseRuntimeException {
+
+    private static final HttpStatus STATUS = HttpStatus.BAD_REQUEST;
+    private static final String CODE = "INVALID_ASSET_EVENT";
+
+    public InvalidAssetEventException(String reason) {
+        super("Supplied asset change event is invalid: " + reason, STATUS, CODE);
+    }
+}
@@ -0,0 +1,15 @@
+package com.userservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class InvalidCursorException extends BaseRuntimeException {
+
+    private static final HttpStatus STATUS = HttpStatus.BAD_REQUEST;
+    private static final String CODE = "INVALID_CURSOR";
+
+    public InvalidCursorException(Exception cause) {
+        super("Supplied cursor is malformed.", STATUS, CODE, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.userservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class InvalidEventTokenException extends BaseRuntimeException {
+
+    private static final HttpStatus STATUS = HttpStatus.UNAUTHORIZED;
+    private static final String CODE = "INVALID_EVENT_TOKEN";
+
+    public InvalidEventTokenException() {
+        super("Asset change events must carry a valid event token.", STATUS, CODE);
+    }
+}
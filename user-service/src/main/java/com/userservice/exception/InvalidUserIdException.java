@@ -0,0 +1,15 @@
+package com.userservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class InvalidUserIdException extends BaseRuntimeException {
+
+    private static final HttpStatus STATUS = HttpStatus.BAD_REQUEST;
+    private static final String CODE = "INVALID_USER_ID";
+
+    public InvalidUserIdException(Exception cause) {
+        super("Supplied user ID is not a number.", STATUS, CODE, cause);
+    }
+}
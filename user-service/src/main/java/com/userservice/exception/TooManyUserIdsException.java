@@ -0,0 +1,15 @@
+package com.userservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class TooManyUserIdsException extends BaseRuntimeException {
+
+    private static final HttpStatus STATUS = HttpStatus.BAD_REQUEST;
+    private static final String CODE = "TOO_MANY_USER_IDS";
+
+    public TooManyUserIdsException(int limit) {
+        super("No more than " + limit + " user IDs can be supplied at once.", STATUS, CODE);
+    }
+}
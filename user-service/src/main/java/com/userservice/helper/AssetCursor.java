@@ -0,0 +1,33 @@
+package com.userservice.helper;
+
+import com.userservice.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Same token format as the cursor of assets-service, so a page served from the asset projection can be followed by
+// one served by assets-service and the other way round.
+public final class AssetCursor {
+
+    private static final String PREFIX = "a:";
+
+    private AssetCursor() {
+    }
+
+    public static String encode(Integer assetId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + assetId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Integer decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Unknown cursor format");
+            }
+            return Integer.valueOf(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(e);
+        }
+    }
+}
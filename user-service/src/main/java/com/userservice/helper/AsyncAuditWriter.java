@@ -0,0 +1,218 @@
+package com.userservice.helper;
+
+import com.userservice.config.AuditProperties;
+import com.userservice.model.audit.AuditRow;
+import com.userservice.model.audit.PendingRevision;
+import com.userservice.model.db.RevisionAudit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Drains committed revisions from a bounded queue and writes them in batches: the revision_audit rows go
+// through JPA (so the pooled revision id generator is used) and the *_audit rows as JDBC batch inserts.
+// Revision ids are assigned as the writer persists, so every revision goes through the one queue in commit order:
+// when it is full the committing thread waits for room, which slows producers down to the writer's pace instead of
+// dropping audit data or writing ahead of queued revisions. Only once the writer has stopped and drained the queue
+// are revisions written by the committing thread.
+@Slf4j
+public class AsyncAuditWriter implements SmartLifecycle {
+
+    private final AuditProperties.Async properties;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingRevision> queue;
+
+    private final Counter revisionsWritten;
+    private final Counter revisionsFailed;
+    private final Counter callerWaits;
+    private final Counter awaitsFailed;
+    private final Timer batchWrites;
+
+    // Enqueuers hold the read lock while they check running and queue; stop() flips running under the write lock,
+    // so no revision is queued after the writer's last look at the queue.
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread thread;
+
+    public AsyncAuditWriter(AuditProperties.Async properties, EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.properties = properties;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        // Writes after stop() are made from afterCommit, where the finished transaction is still bound.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size)
+                .description("Committed revisions waiting to be written")
+                .register(registry);
+        Gauge.builder("audit.queue.remaining.capacity", queue, BlockingQueue::remainingCapacity)
+                .register(registry);
+        this.revisionsWritten = Counter.builder("audit.revisions.written").register(registry);
+        this.revisionsFailed = Counter.builder("audit.revisions.failed").register(registry);
+        this.callerWaits = Counter.builder("audit.backpressure.caller.waits")
+                .description("Committing threads held for longer than enqueue-timeout because the queue was full")
+                .register(registry);
+        this.awaitsFailed = Counter.builder("audit.await.failed")
+                .description("Committed revisions whose write failed or outlasted await-timeout in await_write mode")
+                .register(registry);
+        this.batchWrites = Timer.builder("audit.writer.batch").register(registry);
+    }
+
+    public void enqueue(PendingRevision revision) {
+        boolean queued;
+        lifecycleLock.readLock().lock();
+        try {
+            queued = running && queue(revision);
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+        if (!queued) {
+            write(List.of(revision));
+        }
+
+        if (properties.durability() == AuditProperties.Durability.AWAIT_WRITE) {
+            await(revision);
+        }
+    }
+
+    // Waits for room however long it takes; giving up would mean writing out of order or dropping the revision.
+    private boolean queue(PendingRevision revision) {
+        boolean interrupted = false;
+        try {
+            try {
+                if (queue.offer(revision, properties.enqueueTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+                callerWaits.increment();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            while (true) {
+                try {
+                    queue.put(revision);
+                    return true;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Runs from afterCommit: throwing here would answer an already committed change with an error (and invite a
+    // duplicating retry), so a revision that wasn't written is logged and counted instead.
+    private void await(PendingRevision revision) {
+        try {
+            revision.written().get(properties.awaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            awaitsFailed.increment();
+            log.error("Audit revision of a committed transaction was not written within {}", properties.awaitTimeout(), e);
+        }
+    }
+
+    private void drain() {
+        List<PendingRevision> batch = new ArrayList<>(properties.batchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRevision first = queue.poll(properties.flushInterval().toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.batchSize() - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingRevision> revisions) {
+        try {
+            batchWrites.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                Map<String, List<Object[]>> argsBySql = new LinkedHashMap<>();
+                for (PendingRevision revision : revisions) {
+                    RevisionAudit revisionAudit = new RevisionAudit();
+                    revisionAudit.setTimestamp(revision.timestamp());
+                    entityManager.persist(revisionAudit);
+
+                    for (AuditRow row : revision.rows()) {
+                        Object[] args = new Object[row.values().length + 2];
+                        System.arraycopy(row.values(), 0, args, 0, row.values().length);
+                        args[args.length - 2] = revisionAudit.getRevisionId();
+                        args[args.length - 1] = row.revisionType();
+                        argsBySql.computeIfAbsent(row.insertSql(), sql -> new ArrayList<>()).add(args);
+                    }
+                }
+                // revision_audit rows must exist before the audit rows referencing them.
+                entityManager.flush();
+                argsBySql.forEach(jdbcTemplate::batchUpdate);
+            }));
+            revisionsWritten.increment(revisions.size());
+            revisions.forEach(revision -> revision.written().complete(null));
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} audit revisions", revisions.size(), e);
+            revisionsFailed.increment(revisions.size());
+            revisions.forEach(revision -> revision.written().completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::drain, "audit-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        // No interrupt: the writer notices within flush-interval and drains what is left before exiting. The write
+        // lock is held until it has, so revisions committed meanwhile are written after the queued ones.
+        lifecycleLock.writeLock().lock();
+        try {
+            running = false;
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,186 @@
+package com.userservice.helper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.userservice.config.AssetClientCacheProperties;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+
+// Response cache in front of a Feign client, keyed by URL. Only GET responses that carry an ETag are stored.
+// A fresh entry (younger than ttl) is returned without a call. A stale one is returned as is while a single
+// background request revalidates it with If-None-Match; a 304 makes it fresh again, a 200 replaces it,
+// a 4xx drops it and a failure or 5xx keeps serving it until stale-while-revalidate runs out.
+@Slf4j
+public class CachingFeignClient implements Client {
+
+    private final Client delegate;
+    private final AssetClientCacheProperties properties;
+    private final Executor revalidationExecutor;
+    private final Clock clock;
+    private final Cache<String, CachedResponse> cache;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleHits;
+    private final Counter revalidated;
+    private final Counter revalidationFailures;
+
+    public CachingFeignClient(Client delegate, String name, AssetClientCacheProperties properties, MeterRegistry registry,
+                              Executor revalidationExecutor, Clock clock) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.revalidationExecutor = revalidationExecutor;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl().plus(properties.staleWhileRevalidate()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(registry, cache, "feign.client.responses", "client", name);
+        this.hits = requests(registry, name, "hit");
+        this.misses = requests(registry, name, "miss");
+        this.staleHits = requests(registry, name, "stale");
+        this.revalidated = requests(registry, name, "revalidated");
+        this.revalidationFailures = Counter.builder("feign.client.cache.revalidation.failures")
+                .tag("client", name)
+                .register(registry);
+    }
+
+    private static Counter requests(MeterRegistry registry, String name, String result) {
+        return Counter.builder("feign.client.cache.requests")
+                .tag("client", name)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET) {
+            return delegate.execute(request, options);
+        }
+        String key = request.url();
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached == null) {
+            misses.increment();
+            return fetch(key, request, options, null);
+        }
+        if (!cached.storedAt().plus(properties.ttl()).isBefore(clock.instant())) {
+            hits.increment();
+            return cached.toResponse(request);
+        }
+        staleHits.increment();
+        revalidateInBackground(key, request, options, cached);
+        return cached.toResponse(request);
+    }
+
+    private void revalidateInBackground(String key, Request request, Request.Options options, CachedResponse cached) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        revalidationExecutor.execute(() -> {
+            try {
+                fetch(key, request, options, cached).close();
+            } catch (IOException | RuntimeException e) {
+                revalidationFailures.increment();
+                log.warn("Revalidation of {} failed, serving the cached response", key, e);
+            } finally {
+                revalidating.remove(key);
+            }
+        });
+    }
+
+    private Response fetch(String key, Request request, Request.Options options, CachedResponse cached) throws IOException {
+        Response response = delegate.execute(cached == null ? request : withIfNoneMatch(request, cached.etag()), options);
+        if (cached != null) {
+            if (response.status() == 304) {
+                response.close();
+                revalidated.increment();
+                CachedResponse refreshed = cached.storedAt(clock.instant());
+                cache.put(key, refreshed);
+                return refreshed.toResponse(request);
+            }
+            if (response.status() >= 500) {
+                revalidationFailures.increment();
+                return response;
+            }
+            if (response.status() != 200) {
+                cache.invalidate(key);
+                return response;
+            }
+        }
+
+        String etag = firstHeader(response, ETAG);
+        if (response.status() != 200 || etag == null || response.body() == null) {
+            if (cached != null) {
+                cache.invalidate(key);
+            }
+            return response;
+        }
+        byte[] body;
+        try (response) {
+            body = Util.toByteArray(response.body().asInputStream());
+        }
+        CachedResponse stored = new CachedResponse(response.status(), response.reason(), response.headers(), body, etag, clock.instant());
+        cache.put(key, stored);
+        return stored.toResponse(request);
+    }
+
+    private static Request withIfNoneMatch(Request request, String etag) {
+        Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(request.headers());
+        headers.put(IF_NONE_MATCH, List.of(etag));
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(),
+                request.requestTemplate());
+    }
+
+    private static String firstHeader(Response response, String name) {
+        Collection<String> values = response.headers().get(name);
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
+
+    private record CachedResponse(
+            int status,
+            String reason,
+            Map<String, Collection<String>> headers,
+            byte[] body,
+            String etag,
+            Instant storedAt
+    ) {
+
+        CachedResponse storedAt(Instant storedAt) {
+            return new CachedResponse(status, reason, headers, body, etag, storedAt);
+        }
+
+        Response toResponse(Request request) {
+            return Response.builder()
+                    .status(status)
+                    .reason(reason)
+                    .headers(headers)
+                    .body(body)
+                    .request(request)
+                    .build();
+        }
+    }
+}
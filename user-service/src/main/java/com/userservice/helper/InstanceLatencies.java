@@ -0,0 +1,188 @@
+package com.userservice.helper;
+
+import com.userservice.config.LoadBalancerProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Peak-EWMA latency and outstanding calls of every load-balanced instance, fed by the load balancer lifecycle of
+// each call. An instance's score is its latency estimate times (outstanding calls + 1): the expected wait of one more
+// call. The estimate jumps to any higher latency at once and falls back with decay-time, and fades while an instance
+// gets no traffic, so an instance that was avoided is tried again.
+public class InstanceLatencies implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    // Floor of the latency estimate; keeps the outstanding calls weighing in for instances that look idle.
+    private static final long MINIMUM_LATENCY = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final LoadBalancerProperties properties;
+    private final MeterRegistry registry;
+    private final Map<String, Map<String, Stats>> services = new ConcurrentHashMap<>();
+    // By identity of the load balancer request; entries of calls never reported as completed expire.
+    private final Cache<Request<?>, InFlight> inFlight;
+
+    public InstanceLatencies(LoadBalancerProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.inFlight = Caffeine.newBuilder()
+                .weakKeys()
+                .expireAfterWrite(properties.requestTimeout())
+                .scheduler(Scheduler.systemScheduler())
+                .<Request<?>, InFlight>removalListener((request, call, cause) -> {
+                    if (call != null && cause.wasEvicted()) {
+                        call.stats().outstanding.decrementAndGet();
+                    }
+                })
+                .build();
+    }
+
+    public double score(ServiceInstance instance) {
+        return stats(instance).score(System.nanoTime(), properties.decayTime().toNanos());
+    }
+
+    // Drops the instances of the service that are gone from discovery, with their gauges.
+    public void retain(String serviceId, List<ServiceInstance> instances) {
+        Map<String, Stats> known = services.get(serviceId);
+        if (known == null || known.size() <= instances.size()) {
+            return;
+        }
+        Set<String> current = instances.stream().map(InstanceLatencies::instanceKey).collect(Collectors.toSet());
+        known.values().removeIf(stats -> {
+            boolean gone = !current.contains(stats.instance) && stats.outstanding.get() == 0;
+            if (gone) {
+                stats.meters.forEach(registry::remove);
+            }
+            return gone;
+        });
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        Stats stats = stats(lbResponse.getServer());
+        stats.outstanding.incrementAndGet();
+        inFlight.put(request, new InFlight(stats, System.nanoTime()));
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        InFlight call = inFlight.asMap().remove(completionContext.getLoadBalancerRequest());
+        if (call == null) {
+            return;
+        }
+        call.stats().outstanding.decrementAndGet();
+
+        long now = System.nanoTime();
+        long latency = now - call.startedAt();
+        if (isFailure(completionContext)) {
+            latency = Math.max(latency, properties.failurePenalty().toNanos());
+        }
+        call.stats().observe(latency, now, properties.decayTime().toNanos());
+    }
+
+    private static boolean isFailure(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+        ResponseData response = completionContext.getClientResponse();
+        return response != null && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError();
+    }
+
+    private Stats stats(ServiceInstance instance) {
+        return services.computeIfAbsent(instance.getServiceId(), serviceId -> new ConcurrentHashMap<>())
+                .computeIfAbsent(instanceKey(instance), key -> register(new Stats(instance.getServiceId(), key)));
+    }
+
+    private Stats register(Stats stats) {
+        long decayTime = properties.decayTime().toNanos();
+        stats.meters = List.of(
+                Gauge.builder("loadbalancer.instance.score", stats, s -> s.score(System.nanoTime(), decayTime) / 1e9)
+                        .description("Expected wait of one more call to the instance: latency times (outstanding calls + 1)")
+                        .tags("service", stats.serviceId, "instance", stats.instance)
+                        .baseUnit("seconds")
+                        .register(registry),
+                Gauge.builder("loadbalancer.instance.latency", stats, s -> s.latency(System.nanoTime(), decayTime) / 1e9)
+                        .description("Peak-EWMA latency of the calls to the instance")
+                        .tags("service", stats.serviceId, "instance", stats.instance)
+                        .baseUnit("seconds")
+                        .register(registry),
+                Gauge.builder("loadbalancer.instance.outstanding", stats, s -> s.outstanding.get())
+                        .description("Calls to the instance in flight")
+                        .tags("service", stats.serviceId, "instance", stats.instance)
+                        .register(registry));
+        return stats;
+    }
+
+    private static String instanceKey(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    private record InFlight(Stats stats, long startedAt) {}
+
+    private static final class Stats {
+
+        private final String serviceId;
+        private final String instance;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private List<Meter> meters = List.of();
+
+        // Nanoseconds, as of observedAt.
+        private double latency;
+        private long observedAt;
+
+        private Stats(String serviceId, String instance) {
+            this.serviceId = serviceId;
+            this.instance = instance;
+            this.observedAt = System.nanoTime();
+        }
+
+        private synchronized void observe(long sample, long now, long decayTime) {
+            double current = latency(now, decayTime);
+            if (sample > current) {
+                latency = sample;
+            } else {
+                double weight = Math.exp(-(double) (now - observedAt) / decayTime);
+                latency = current * weight + sample * (1 - weight);
+            }
+            observedAt = now;
+        }
+
+        private synchronized double latency(long now, long decayTime) {
+            return latency * Math.exp(-(double) (now - observedAt) / decayTime);
+        }
+
+        private double score(long now, long decayTime) {
+            return Math.max(latency(now, decayTime), MINIMUM_LATENCY) * (outstanding.get() + 1);
+        }
+    }
+}
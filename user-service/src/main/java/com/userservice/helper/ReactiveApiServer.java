@@ -0,0 +1,47 @@
+package com.userservice.helper;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+
+// Reactor Netty server of the reactive read API. It runs next to Tomcat rather than instead of it: request handling
+// and the calls to assets-service share Reactor Netty's event loops, one per core.
+@Slf4j
+public class ReactiveApiServer implements SmartLifecycle {
+
+    private final int port;
+    private final HttpHandler httpHandler;
+
+    private volatile WebServer webServer;
+
+    public ReactiveApiServer(int port, HttpHandler httpHandler) {
+        this.port = port;
+        this.httpHandler = httpHandler;
+    }
+
+    // The bound port; differs from the configured one when that was 0.
+    public int getPort() {
+        return webServer == null ? -1 : webServer.getPort();
+    }
+
+    @Override
+    public void start() {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory(port);
+        webServer = factory.getWebServer(httpHandler);
+        webServer.start();
+        log.info("Reactive read API started on port {}", webServer.getPort());
+    }
+
+    @Override
+    public void stop() {
+        webServer.stop();
+        webServer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return webServer != null;
+    }
+}
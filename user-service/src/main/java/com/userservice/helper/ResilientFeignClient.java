@@ -0,0 +1,160 @@
+package com.userservice.helper;
+
+import com.userservice.exception.DependencyUnavailableException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Bulkhead and circuit breaker around the HTTP transport of a Feign client. The bulkhead caps the calls in flight,
+// so a slow dependency can hold at most that many request threads; the breaker stops calling it once too many calls
+// fail (I/O errors and 5xx) or are slow. Rejected calls fail fast with a 503 DependencyUnavailableException.
+// A call lasts until its response body is closed, not just until the headers have arrived.
+public class ResilientFeignClient implements Client {
+
+    private final Client delegate;
+    private final String name;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+
+    public ResilientFeignClient(Client delegate, String name, Bulkhead bulkhead, CircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.name = name;
+        this.bulkhead = bulkhead;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        try {
+            bulkhead.acquirePermission();
+        } catch (BulkheadFullException e) {
+            throw new DependencyUnavailableException(name, e);
+        }
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (CallNotPermittedException e) {
+            bulkhead.onComplete();
+            throw new DependencyUnavailableException(name, e);
+        }
+
+        long start = circuitBreaker.getCurrentTimestamp();
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (IOException | RuntimeException e) {
+            circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e);
+            bulkhead.onComplete();
+            throw e;
+        }
+        if (response.body() == null) {
+            complete(response, start, null);
+            return response;
+        }
+        return response.toBuilder().body(new CompletingBody(response, start)).build();
+    }
+
+    // Records the call and frees its bulkhead slot once, when the body has been read and closed.
+    private void complete(Response response, long start, IOException readFailure) {
+        long duration = circuitBreaker.getCurrentTimestamp() - start;
+        if (readFailure != null) {
+            circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(), readFailure);
+        } else if (response.status() >= 500) {
+            circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(),
+                    HttpServerErrorException.create(HttpStatusCode.valueOf(response.status()), String.valueOf(response.reason()), null, null, null));
+        } else {
+            circuitBreaker.onSuccess(duration, circuitBreaker.getTimestampUnit());
+        }
+        bulkhead.onComplete();
+    }
+
+    // The call is only over once Feign has read the body, so a slow-streaming body holds its bulkhead slot and
+    // counts as a slow call; a failed read counts as a failure.
+    private final class CompletingBody implements Response.Body {
+
+        private final Response response;
+        private final Response.Body delegate;
+        private final long start;
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile IOException readFailure;
+
+        private CompletingBody(Response response, long start) {
+            this.response = response;
+            this.delegate = response.body();
+            this.start = start;
+        }
+
+        @Override
+        public Integer length() {
+            return delegate.length();
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return delegate.isRepeatable();
+        }
+
+        @Override
+        public InputStream asInputStream() throws IOException {
+            return new FilterInputStream(delegate.asInputStream()) {
+                @Override
+                public int read() throws IOException {
+                    try {
+                        return super.read();
+                    } catch (IOException e) {
+                        readFailure = e;
+                        throw e;
+                    }
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    try {
+                        return super.read(b, off, len);
+                    } catch (IOException e) {
+                        readFailure = e;
+                        throw e;
+                    }
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        CompletingBody.this.close();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public Reader asReader(Charset charset) throws IOException {
+            return new InputStreamReader(asInputStream(), charset);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                delegate.close();
+            } finally {
+                if (completed.compareAndSet(false, true)) {
+                    complete(response, start, readFailure);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.userservice.helper;
+
+import com.userservice.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Encodes the keyset position (the last seen user_id) into an opaque token, so clients
+// can't depend on its structure and we are free to extend it with more sort keys later.
+public final class UserCursor {
+
+    private static final String PREFIX = "u:";
+
+    private UserCursor() {
+    }
+
+    public static String encode(Integer userId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + userId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Integer decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Unknown cursor format");
+            }
+            return Integer.valueOf(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.userservice.model.audit;
+
+// One row of an entity's audit table, minus the revision id which is only known once the revision is written.
+public record AuditRow(
+        String insertSql,
+        Object[] values,
+        int revisionType
+) {}
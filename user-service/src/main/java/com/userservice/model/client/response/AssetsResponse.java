@@ -3,5 +3,6 @@ package com.userservice.model.client.response;
 import java.util.List;
 
 public record AssetsResponse (
-        List<AssetResponse> assets
+        List<AssetResponse> assets,
+        String next
 ) {}
@@ -0,0 +1,8 @@
+package com.userservice.model.client.response;
+
+import java.util.List;
+import java.util.Map;
+
+public record UsersAssetsResponse(
+        Map<Integer, List<AssetResponse>> users
+) {}
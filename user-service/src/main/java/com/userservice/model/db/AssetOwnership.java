@@ -0,0 +1,43 @@
+package com.userservice.model.db;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(name = "asset_ownership")
+public class AssetOwnership {
+
+    // Assigned by assets-service.
+    @Id
+    private Integer assetId;
+
+    @Column
+    private Integer userId;
+
+    @Column
+    private String name;
+
+    @Column
+    private String assetType;
+
+    @Column
+    private String status;
+
+    @Column
+    private boolean deleted;
+
+    // Id of the last applied change event; null while the row only comes from a snapshot.
+    @Column
+    private Long eventId;
+
+    @Column
+    private LocalDateTime updatedAt;
+}
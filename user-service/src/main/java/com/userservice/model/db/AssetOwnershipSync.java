@@ -0,0 +1,23 @@
+package com.userservice.model.db;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(name = "asset_ownership_sync")
+public class AssetOwnershipSync {
+
+    @Id
+    private Integer userId;
+
+    @Column
+    private LocalDateTime syncedAt;
+}
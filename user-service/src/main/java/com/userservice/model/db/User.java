@@ -22,7 +22,7 @@ import java.time.LocalDateTime;
 public class User {
 
     @Id
-    @SequenceGenerator(name = UserRepository.USER_ID_SEQUENCE, sequenceName = UserRepository.USER_ID_SEQUENCE, allocationSize = 1)
+    @SequenceGenerator(name = UserRepository.USER_ID_SEQUENCE, sequenceName = UserRepository.USER_ID_SEQUENCE, allocationSize = UserRepository.USER_ID_ALLOCATION_SIZE)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = UserRepository.USER_ID_SEQUENCE)
     private Integer userId;
 
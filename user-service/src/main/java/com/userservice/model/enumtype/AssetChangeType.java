@@ -0,0 +1,7 @@
+package com.userservice.model.enumtype;
+
+public enum AssetChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
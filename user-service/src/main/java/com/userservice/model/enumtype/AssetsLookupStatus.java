@@ -0,0 +1,8 @@
+package com.userservice.model.enumtype;
+
+public enum AssetsLookupStatus {
+    OK,
+    // The request deadline passed before assets-service answered.
+    TIMED_OUT,
+    FAILED
+}
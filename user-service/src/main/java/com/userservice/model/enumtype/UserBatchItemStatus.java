@@ -0,0 +1,12 @@
+package com.userservice.model.enumtype;
+
+public enum UserBatchItemStatus {
+    CREATED,
+    DELETED,
+    // Another user, in the database or earlier in the same import, already has this email.
+    DUPLICATE_EMAIL,
+    INVALID,
+    NOT_FOUND,
+    // The chunk the item was in could not be written; the item may be retried.
+    FAILED
+}
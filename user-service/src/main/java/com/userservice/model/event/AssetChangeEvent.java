@@ -0,0 +1,14 @@
+package com.userservice.model.event;
+
+import com.userservice.model.client.response.AssetResponse;
+import com.userservice.model.enumtype.AssetChangeType;
+
+import java.time.LocalDateTime;
+
+// eventId increases with every change made in assets-service, so events delivered out of order can be recognized.
+public record AssetChangeEvent(
+        Long eventId,
+        AssetChangeType type,
+        AssetResponse asset,
+        LocalDateTime occurredAt
+) {}
@@ -1,9 +1,12 @@
 package com.userservice.model.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.userservice.model.dto.UserDto;
 
 import java.util.List;
 
 public record UserResponse (
-        List<UserDto> users
+        List<UserDto> users,
+        // Cursor of the next keyset page; absent on the last page and for unpaged responses.
+        @JsonInclude(JsonInclude.Include.NON_NULL) String next
 ){}
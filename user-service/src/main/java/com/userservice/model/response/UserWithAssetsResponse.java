@@ -0,0 +1,14 @@
+package com.userservice.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.userservice.model.client.response.AssetsResponse;
+import com.userservice.model.dto.UserDto;
+import com.userservice.model.enumtype.AssetsLookupStatus;
+
+public record UserWithAssetsResponse(
+        UserDto user,
+        // First page of the user's assets; absent unless assetsStatus is OK.
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        AssetsResponse assets,
+        AssetsLookupStatus assetsStatus
+) {}
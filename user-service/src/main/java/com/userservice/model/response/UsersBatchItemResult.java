@@ -0,0 +1,12 @@
+package com.userservice.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.userservice.model.enumtype.UserBatchItemStatus;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UsersBatchItemResult(
+        int index,
+        Integer userId,
+        UserBatchItemStatus status,
+        String error
+) {}
@@ -0,0 +1,10 @@
+package com.userservice.model.response;
+
+import java.util.List;
+
+public record UsersBatchResponse(
+        int received,
+        int succeeded,
+        int failed,
+        List<UsersBatchItemResult> items
+) {}
@@ -0,0 +1,12 @@
+package com.userservice.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public record UsersWithAssetsResponse(
+        List<UserWithAssetsResponse> users,
+        // True if the assets of at least one user could not be looked up.
+        boolean partial,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String next
+) {}
@@ -0,0 +1,16 @@
+package com.userservice.repository;
+
+import com.userservice.model.db.AssetOwnership;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AssetOwnershipRepository extends JpaRepository<AssetOwnership, Integer> {
+
+    List<AssetOwnership> findByUserId(Integer userId);
+
+    List<AssetOwnership> findByUserIdAndDeletedFalseAndAssetIdGreaterThanOrderByAssetIdAsc(Integer userId, Integer assetId, Limit limit);
+}
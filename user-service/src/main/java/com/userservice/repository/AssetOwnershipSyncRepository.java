@@ -0,0 +1,9 @@
+package com.userservice.repository;
+
+import com.userservice.model.db.AssetOwnershipSync;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AssetOwnershipSyncRepository extends JpaRepository<AssetOwnershipSync, Integer> {
+}
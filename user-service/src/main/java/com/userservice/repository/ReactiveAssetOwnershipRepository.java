@@ -0,0 +1,43 @@
+package com.userservice.repository;
+
+import com.userservice.model.client.response.AssetResponse;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+// Reads of the asset projection written by AssetProjectionServiceImpl.
+public class ReactiveAssetOwnershipRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveAssetOwnershipRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<LocalDateTime> findSyncedAt(Integer userId) {
+        return databaseClient.sql("SELECT synced_at FROM asset_ownership_sync WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get("synced_at", LocalDateTime.class))
+                .one();
+    }
+
+    public Flux<AssetResponse> findByUserId(Integer userId, Integer afterAssetId, int limit) {
+        return databaseClient.sql("""
+                        SELECT asset_id, user_id, name, asset_type, status FROM asset_ownership
+                        WHERE user_id = :userId AND deleted = FALSE AND asset_id > :afterAssetId
+                        ORDER BY asset_id
+                        LIMIT :limit""")
+                .bind("userId", userId)
+                .bind("afterAssetId", afterAssetId)
+                .bind("limit", limit)
+                .map(row -> new AssetResponse(
+                        row.get("asset_id", Integer.class),
+                        row.get("name", String.class),
+                        row.get("asset_type", String.class),
+                        row.get("status", String.class),
+                        row.get("user_id", Integer.class)))
+                .all();
+    }
+}
@@ -0,0 +1,27 @@
+package com.userservice.repository;
+
+import com.userservice.model.dto.UserDto;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public class ReactiveUserRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<UserDto> findById(Integer userId) {
+        return databaseClient.sql("SELECT user_id, name, email, created FROM users WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> new UserDto(
+                        row.get("user_id", Integer.class),
+                        row.get("name", String.class),
+                        row.get("email", String.class),
+                        row.get("created", LocalDateTime.class)))
+                .one();
+    }
+}
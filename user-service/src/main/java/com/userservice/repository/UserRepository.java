@@ -1,13 +1,36 @@
 package com.userservice.repository;
 
 import com.userservice.model.db.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
 
     String USER_ID_SEQUENCE = "user_id_sequence";
+    // Must match the INCREMENT BY of user_id_sequence (see V5 migration).
+    int USER_ID_ALLOCATION_SIZE = 50;
 
     User findByName(String name);
+
+    List<User> findByEmailIn(Collection<String> emails);
+
+    List<User> findByUserIdGreaterThanOrderByUserIdAsc(Integer userId, Limit limit);
+
+    // Without a fetch size the PostgreSQL driver reads the whole result set into memory before returning the first row.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<User> streamAllByOrderByUserIdAsc();
 }
@@ -0,0 +1,17 @@
+package com.userservice.service;
+
+import com.userservice.model.client.response.AssetsResponse;
+import com.userservice.model.event.AssetChangeEvent;
+
+import java.util.List;
+
+public interface AssetProjectionService {
+
+    // Default page size of GET /assets/users/{userId} in assets-service.
+    int PAGE_SIZE = 100;
+
+    // Served from the projection while it is fresh enough, otherwise from assets-service.
+    AssetsResponse getUserAssets(Integer userId, String after);
+
+    void apply(List<AssetChangeEvent> events);
+}
@@ -0,0 +1,8 @@
+package com.userservice.service;
+
+import com.userservice.model.response.UsersWithAssetsResponse;
+
+public interface UserAssetsService {
+
+    UsersWithAssetsResponse findAllWithAssets(String after, int size);
+}
@@ -1,20 +1,43 @@
 package com.userservice.service;
 
 import com.userservice.model.client.response.AssetsResponse;
+import com.userservice.model.client.response.UsersAssetsResponse;
 import com.userservice.model.dto.UserDto;
 import com.userservice.model.response.UserResponse;
+import com.userservice.model.response.UsersBatchResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface UserService {
 
     void addUser(UserDto userDto);
 
+    UsersBatchResponse addUsers(Iterator<UserDto> users, int chunkSize);
+
+    UsersBatchResponse deleteUsers(Collection<Integer> userIds, int chunkSize);
+
     UserDto findByName(String name);
 
     UserDto findById(Integer userId);
 
+    // Loads every user at once; only for callers that explicitly opted in to an unpaged response.
     UserResponse findAll();
 
-    void delete(Integer userId);
+    Page<UserDto> findAll(Pageable pageable);
+
+    UserResponse findAll(String after, int size);
+
+    void streamAll(Consumer<UserDto> consumer);
+
+    // Returns false if there was no such user.
+    boolean delete(Integer userId);
+
+    AssetsResponse getUserAssets(Integer userId, String after);
 
-    AssetsResponse getUserAssets(Integer userId);
+    UsersAssetsResponse getUsersAssets(Set<Integer> userIds);
 }
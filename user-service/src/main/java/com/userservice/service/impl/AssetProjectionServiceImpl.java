@@ -0,0 +1,235 @@
+package com.userservice.service.impl;
+
+import com.userservice.client.AssetClient;
+import com.userservice.config.AssetProjectionProperties;
+import com.userservice.exception.DependencyUnavailableException;
+import com.userservice.exception.InvalidAssetEventException;
+import com.userservice.helper.AssetCursor;
+import com.userservice.model.client.response.AssetResponse;
+import com.userservice.model.client.response.AssetsResponse;
+import com.userservice.model.db.AssetOwnership;
+import com.userservice.model.db.AssetOwnershipSync;
+import com.userservice.model.enumtype.AssetChangeType;
+import com.userservice.model.event.AssetChangeEvent;
+import com.userservice.repository.AssetOwnershipRepository;
+import com.userservice.repository.AssetOwnershipSyncRepository;
+import com.userservice.service.AssetProjectionService;
+import feign.FeignException;
+import feign.RetryableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Reads go to the local asset_ownership table while the user's assets were loaded in full from assets-service within
+// max-staleness; change events keep the table current in between. Otherwise assets-service is called and a complete
+// answer is stored as the user's new snapshot. Not @Transactional: no connection is held during the remote call.
+@Slf4j
+@Service
+public class AssetProjectionServiceImpl implements AssetProjectionService {
+
+    private final AssetProjectionProperties properties;
+    private final AssetOwnershipRepository assetOwnershipRepository;
+    private final AssetOwnershipSyncRepository assetOwnershipSyncRepository;
+    private final AssetClient assetClient;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleHits;
+    private final Counter eventsApplied;
+    private final Counter eventsIgnored;
+    private final Timer eventLag;
+
+    public AssetProjectionServiceImpl(AssetProjectionProperties properties, AssetOwnershipRepository assetOwnershipRepository,
+                                      AssetOwnershipSyncRepository assetOwnershipSyncRepository, AssetClient assetClient,
+                                      PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.properties = properties;
+        this.assetOwnershipRepository = assetOwnershipRepository;
+        this.assetOwnershipSyncRepository = assetOwnershipSyncRepository;
+        this.assetClient = assetClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.hits = readCounter(registry, "hit");
+        this.misses = readCounter(registry, "miss");
+        this.staleHits = readCounter(registry, "stale");
+        this.eventsApplied = eventCounter(registry, "applied");
+        this.eventsIgnored = eventCounter(registry, "ignored");
+        this.eventLag = Timer.builder("asset.projection.event.lag")
+                .description("Time from the change in assets-service until it was applied to the projection")
+                .register(registry);
+    }
+
+    @Override
+    public AssetsResponse getUserAssets(Integer userId, String after) {
+        if (!properties.enabled()) {
+            return assetClient.getUserAssets(userId, after);
+        }
+
+        Integer lastSeenId = after == null || after.isEmpty() ? 0 : AssetCursor.decode(after);
+        LocalDateTime now = LocalDateTime.now();
+        if (isSyncedSince(userId, now.minus(properties.maxStaleness()))) {
+            Optional<AssetsResponse> local = read(userId, lastSeenId);
+            if (local.isPresent()) {
+                hits.increment();
+                return local.get();
+            }
+        }
+
+        AssetsResponse response;
+        try {
+            response = assetClient.getUserAssets(userId, after);
+        } catch (DependencyUnavailableException | RetryableException | FeignException.FeignServerException e) {
+            // While assets-service is down a stale answer is better than none.
+            Optional<AssetsResponse> local = assetOwnershipSyncRepository.existsById(userId) ? read(userId, lastSeenId) : Optional.empty();
+            if (local.isEmpty()) {
+                throw e;
+            }
+            staleHits.increment();
+            return local.get();
+        }
+        misses.increment();
+
+        // Only a single page holds all assets of the user; larger owners keep being served by assets-service.
+        if (lastSeenId == 0 && response.next() == null) {
+            storeSnapshot(userId, response.assets(), now);
+        }
+        return response;
+    }
+
+    @Override
+    public void apply(List<AssetChangeEvent> events) {
+        events.forEach(AssetProjectionServiceImpl::validate);
+        LocalDateTime now = LocalDateTime.now();
+
+        transactionTemplate.executeWithoutResult(status -> events.stream()
+                .sorted(Comparator.comparing(AssetChangeEvent::eventId))
+                .forEach(event -> apply(event, now)));
+
+        events.stream()
+                .map(AssetChangeEvent::occurredAt)
+                .filter(occurredAt -> occurredAt != null && occurredAt.isBefore(now))
+                .forEach(occurredAt -> eventLag.record(Duration.between(occurredAt, now)));
+    }
+
+    private void apply(AssetChangeEvent event, LocalDateTime now) {
+        AssetResponse asset = event.asset();
+        AssetOwnership ownership = assetOwnershipRepository.findById(asset.assetId())
+                .orElseGet(() -> AssetOwnership.builder().assetId(asset.assetId()).build());
+        if (ownership.getEventId() != null && ownership.getEventId() >= event.eventId()) {
+            eventsIgnored.increment();
+            return;
+        }
+
+        if (event.type() == AssetChangeType.DELETED) {
+            ownership.setDeleted(true);
+        } else {
+            copy(asset, ownership);
+            ownership.setDeleted(false);
+        }
+        ownership.setEventId(event.eventId());
+        ownership.setUpdatedAt(now);
+        assetOwnershipRepository.save(ownership);
+        eventsApplied.increment();
+    }
+
+    private boolean isSyncedSince(Integer userId, LocalDateTime since) {
+        return assetOwnershipSyncRepository.findById(userId)
+                .map(sync -> sync.getSyncedAt().isAfter(since))
+                .orElse(false);
+    }
+
+    private Optional<AssetsResponse> read(Integer userId, Integer lastSeenId) {
+        // One extra row tells us whether there is a next page.
+        List<AssetOwnership> assets = assetOwnershipRepository.findByUserIdAndDeletedFalseAndAssetIdGreaterThanOrderByAssetIdAsc(
+                userId, lastSeenId, Limit.of(PAGE_SIZE + 1));
+        if (assets.isEmpty() && lastSeenId == 0) {
+            // assets-service answers 404 for users without assets; leave that answer to it.
+            return Optional.empty();
+        }
+
+        boolean hasNext = assets.size() > PAGE_SIZE;
+        List<AssetOwnership> content = hasNext ? assets.subList(0, PAGE_SIZE) : assets;
+        String next = hasNext ? AssetCursor.encode(content.get(content.size() - 1).getAssetId()) : null;
+        return Optional.of(new AssetsResponse(content.stream()
+                .map(asset -> new AssetResponse(asset.getAssetId(), asset.getName(), asset.getAssetType(), asset.getStatus(), asset.getUserId()))
+                .toList(), next));
+    }
+
+    // Rows changed by an event after loadedAt are newer than the snapshot and left alone.
+    private void storeSnapshot(Integer userId, List<AssetResponse> assets, LocalDateTime loadedAt) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Integer, AssetOwnership> owned = assetOwnershipRepository.findByUserId(userId).stream()
+                        .collect(Collectors.toMap(AssetOwnership::getAssetId, Function.identity()));
+
+                for (AssetResponse asset : assets) {
+                    if (asset.assetId() == null) {
+                        continue;
+                    }
+                    AssetOwnership ownership = Optional.ofNullable(owned.remove(asset.assetId()))
+                            .or(() -> assetOwnershipRepository.findById(asset.assetId()))
+                            .orElseGet(() -> AssetOwnership.builder().assetId(asset.assetId()).build());
+                    if (ownership.getUpdatedAt() == null || !ownership.getUpdatedAt().isAfter(loadedAt)) {
+                        copy(asset, ownership);
+                        ownership.setDeleted(false);
+                        ownership.setUpdatedAt(loadedAt);
+                        assetOwnershipRepository.save(ownership);
+                    }
+                }
+                owned.values().stream()
+                        .filter(ownership -> !ownership.isDeleted() && !ownership.getUpdatedAt().isAfter(loadedAt))
+                        .forEach(ownership -> {
+                            ownership.setDeleted(true);
+                            ownership.setUpdatedAt(loadedAt);
+                        });
+
+                assetOwnershipSyncRepository.save(new AssetOwnershipSync(userId, loadedAt));
+            });
+        } catch (RuntimeException e) {
+            // The response is already there; the next read simply tries again.
+            log.warn("Failed to store the assets of user {} in the projection", userId, e);
+        }
+    }
+
+    private static void copy(AssetResponse asset, AssetOwnership ownership) {
+        ownership.setUserId(asset.userId());
+        ownership.setName(asset.name());
+        ownership.setAssetType(asset.assetType());
+        ownership.setStatus(asset.status());
+    }
+
+    private static void validate(AssetChangeEvent event) {
+        if (event.eventId() == null || event.type() == null) {
+            throw new InvalidAssetEventException("eventId and type are required");
+        }
+        if (event.asset() == null || event.asset().assetId() == null) {
+            throw new InvalidAssetEventException("asset.assetId is required");
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String result) {
+        return Counter.builder("asset.projection.reads")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter eventCounter(MeterRegistry registry, String result) {
+        return Counter.builder("asset.projection.events")
+                .tag("result", result)
+                .register(registry);
+    }
+}
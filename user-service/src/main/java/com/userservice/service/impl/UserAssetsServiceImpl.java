@@ -0,0 +1,99 @@
+package com.userservice.service.impl;
+
+import com.userservice.config.IncludeAssetsProperties;
+import com.userservice.model.client.response.AssetsResponse;
+import com.userservice.model.dto.UserDto;
+import com.userservice.model.enumtype.AssetsLookupStatus;
+import com.userservice.model.response.UserResponse;
+import com.userservice.model.response.UserWithAssetsResponse;
+import com.userservice.model.response.UsersWithAssetsResponse;
+import com.userservice.service.AssetProjectionService;
+import com.userservice.service.UserAssetsService;
+import com.userservice.service.UserService;
+import feign.FeignException;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Not @Transactional on purpose: the users are read in UserService's own transaction, so no database
+// connection is held while waiting for assets-service.
+@Slf4j
+@AllArgsConstructor
+@Service
+public class UserAssetsServiceImpl implements UserAssetsService {
+
+    private final UserService userService;
+    private final AssetProjectionService assetProjectionService;
+    private final IncludeAssetsProperties properties;
+
+    @Override
+    public UsersWithAssetsResponse findAllWithAssets(String after, int size) {
+        long deadline = System.nanoTime() + properties.deadline().toNanos();
+        UserResponse page = userService.findAll(after, size);
+        List<UserDto> users = page.users();
+
+        // One virtual thread per user, with at most `concurrency` of them calling assets-service at a time,
+        // so the request takes about as long as its slowest window of calls rather than the sum of all calls.
+        Semaphore permits = new Semaphore(properties.concurrency());
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<AssetsResponse>> lookups = users.stream()
+                    .map(user -> executor.submit(() -> {
+                        permits.acquire();
+                        try {
+                            return getUserAssets(user.userId());
+                        } finally {
+                            permits.release();
+                        }
+                    }))
+                    .toList();
+
+            List<UserWithAssetsResponse> result = new ArrayList<>(users.size());
+            boolean partial = false;
+            for (int i = 0; i < users.size(); i++) {
+                UserWithAssetsResponse userWithAssets = await(users.get(i), lookups.get(i), deadline);
+                partial |= userWithAssets.assetsStatus() != AssetsLookupStatus.OK;
+                result.add(userWithAssets);
+            }
+            return new UsersWithAssetsResponse(result, partial, page.next());
+        } finally {
+            // Interrupts the lookups still running past the deadline instead of waiting for them.
+            executor.shutdownNow();
+        }
+    }
+
+    private AssetsResponse getUserAssets(Integer userId) {
+        try {
+            return assetProjectionService.getUserAssets(userId, null);
+        } catch (FeignException.NotFound e) {
+            // assets-service answers 404 for users without assets.
+            return new AssetsResponse(List.of(), null);
+        }
+    }
+
+    private UserWithAssetsResponse await(UserDto user, Future<AssetsResponse> lookup, long deadline) {
+        try {
+            AssetsResponse assets = lookup.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return new UserWithAssetsResponse(user, assets, AssetsLookupStatus.OK);
+        } catch (TimeoutException e) {
+            lookup.cancel(true);
+            return new UserWithAssetsResponse(user, null, AssetsLookupStatus.TIMED_OUT);
+        } catch (ExecutionException e) {
+            log.warn("Failed to look up assets of user {}", user.userId(), e.getCause());
+            return new UserWithAssetsResponse(user, null, AssetsLookupStatus.FAILED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new UserWithAssetsResponse(user, null, AssetsLookupStatus.TIMED_OUT);
+        }
+    }
+}
@@ -1,16 +1,47 @@
 package com.userservice.service.impl;
 
 import com.userservice.client.AssetClient;
+import com.userservice.helper.UserCursor;
 import com.userservice.model.client.response.AssetsResponse;
+import com.userservice.model.client.response.UsersAssetsResponse;
+import com.userservice.model.db.User;
 import com.userservice.model.dto.UserDto;
+import com.userservice.model.enumtype.UserBatchItemStatus;
 import com.userservice.model.mapper.UserMapper;
 import com.userservice.model.response.UserResponse;
+import com.userservice.model.response.UsersBatchItemResult;
+import com.userservice.model.response.UsersBatchResponse;
 import com.userservice.repository.UserRepository;
+import com.userservice.service.AssetProjectionService;
 import com.userservice.service.UserService;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@Slf4j
 @AllArgsConstructor
 
 @Service
@@ -18,7 +49,10 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
     private final AssetClient assetClient;
+    private final AssetProjectionService assetProjectionService;
 
     @Override
     public void addUser(UserDto userDto) {
@@ -26,6 +60,126 @@ public class UserServiceImpl implements UserService {
         userRepository.save(user);
     }
 
+    // Each chunk runs in its own transaction: its inserts go out as JDBC batches, Envers records one revision
+    // for it, and a failure only rolls back the chunk it happened in.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UsersBatchResponse addUsers(Iterator<UserDto> users, int chunkSize) {
+        List<UsersBatchItemResult> results = new ArrayList<>();
+        // Emails accepted so far, so a duplicate within the import is reported like one in the database.
+        Set<String> importedEmails = new HashSet<>();
+
+        List<UserDto> chunk = new ArrayList<>(chunkSize);
+        boolean hasMore = true;
+        while (hasMore) {
+            UsersBatchItemResult malformedInput = null;
+            try {
+                hasMore = users.hasNext();
+                if (hasMore) {
+                    chunk.add(users.next());
+                }
+            } catch (RuntimeException e) {
+                // The rest of the body can't be parsed reliably, so flush what we have and stop.
+                hasMore = false;
+                malformedInput = new UsersBatchItemResult(results.size() + chunk.size(), null, UserBatchItemStatus.INVALID, e.getMessage());
+            }
+
+            if (chunk.size() == chunkSize || (!hasMore && !chunk.isEmpty())) {
+                results.addAll(addChunk(results.size(), chunk, importedEmails));
+                chunk.clear();
+            }
+            if (malformedInput != null) {
+                results.add(malformedInput);
+            }
+        }
+        return batchResponse(results, UserBatchItemStatus.CREATED);
+    }
+
+    private List<UsersBatchItemResult> addChunk(int offset, List<UserDto> chunk, Set<String> importedEmails) {
+        UsersBatchItemResult[] results = new UsersBatchItemResult[chunk.size()];
+        Set<String> existingEmails = userRepository.findByEmailIn(chunk.stream()
+                        .map(UserDto::email)
+                        .filter(Objects::nonNull)
+                        .toList()).stream()
+                .map(User::getEmail)
+                .collect(Collectors.toSet());
+
+        Map<Integer, User> entities = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            UserDto user = chunk.get(i);
+            if (user.name() == null || user.name().isBlank() || user.email() == null || user.email().isBlank()) {
+                results[i] = new UsersBatchItemResult(offset + i, null, UserBatchItemStatus.INVALID, "name and email are required");
+            } else if (existingEmails.contains(user.email()) || !importedEmails.add(user.email())) {
+                results[i] = new UsersBatchItemResult(offset + i, null, UserBatchItemStatus.DUPLICATE_EMAIL, null);
+            } else {
+                User entity = UserMapper.INSTANCE.userDtoToUser(user);
+                entity.setUserId(null);
+                entities.put(i, entity);
+            }
+        }
+
+        if (!entities.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    userRepository.saveAll(entities.values());
+                    userRepository.flush();
+                });
+                entities.forEach((i, entity) ->
+                        results[i] = new UsersBatchItemResult(offset + i, entity.getUserId(), UserBatchItemStatus.CREATED, null));
+            } catch (RuntimeException e) {
+                log.warn("User import chunk at offset {} rolled back", offset, e);
+                entities.forEach((i, entity) -> {
+                    importedEmails.remove(entity.getEmail());
+                    results[i] = new UsersBatchItemResult(offset + i, null, UserBatchItemStatus.FAILED, e.getMessage());
+                });
+            } finally {
+                // Keep the persistence context from growing across chunks when it outlives the transaction.
+                entityManager.clear();
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UsersBatchResponse deleteUsers(Collection<Integer> userIds, int chunkSize) {
+        List<Integer> ids = List.copyOf(new LinkedHashSet<>(userIds));
+        List<UsersBatchItemResult> results = new ArrayList<>(ids.size());
+        for (int offset = 0; offset < ids.size(); offset += chunkSize) {
+            List<Integer> chunk = ids.subList(offset, Math.min(offset + chunkSize, ids.size()));
+            results.addAll(deleteChunk(offset, chunk));
+        }
+        return batchResponse(results, UserBatchItemStatus.DELETED);
+    }
+
+    // Entities are loaded and removed (not bulk-deleted with JPQL), so Envers still records the deletions.
+    private List<UsersBatchItemResult> deleteChunk(int offset, List<Integer> chunk) {
+        try {
+            Set<Integer> deleted = transactionTemplate.execute(status -> {
+                List<User> users = userRepository.findAllById(chunk);
+                userRepository.deleteAll(users);
+                userRepository.flush();
+                return users.stream().map(User::getUserId).collect(Collectors.toSet());
+            });
+            return IntStream.range(0, chunk.size())
+                    .mapToObj(i -> new UsersBatchItemResult(offset + i, chunk.get(i),
+                            deleted.contains(chunk.get(i)) ? UserBatchItemStatus.DELETED : UserBatchItemStatus.NOT_FOUND, null))
+                    .toList();
+        } catch (RuntimeException e) {
+            log.warn("User delete chunk at offset {} rolled back", offset, e);
+            return IntStream.range(0, chunk.size())
+                    .mapToObj(i -> new UsersBatchItemResult(offset + i, chunk.get(i), UserBatchItemStatus.FAILED, e.getMessage()))
+                    .toList();
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private static UsersBatchResponse batchResponse(List<UsersBatchItemResult> results, UserBatchItemStatus success) {
+        int succeeded = (int) results.stream().filter(result -> result.status() == success).count();
+        return new UsersBatchResponse(results.size(), succeeded, results.size() - succeeded, results);
+    }
+
     @Override
     public UserDto findByName(String name) {
         var user = userRepository.findByName(name);
@@ -43,16 +197,62 @@ public class UserServiceImpl implements UserService {
     public UserResponse findAll() {
         return new UserResponse(userRepository.findAll().stream()
                 .map(UserMapper.INSTANCE::userToUserDto)
-                .toList());
+                .toList(), null);
+    }
+
+    @Override
+    public Page<UserDto> findAll(Pageable pageable) {
+        return userRepository.findAll(pageable)
+                .map(UserMapper.INSTANCE::userToUserDto);
+    }
+
+    @Override
+    public UserResponse findAll(String after, int size) {
+        Integer lastSeenId = after == null || after.isEmpty() ? 0 : UserCursor.decode(after);
+        // One extra row tells us whether there is a next page without issuing a count query.
+        List<User> users = userRepository.findByUserIdGreaterThanOrderByUserIdAsc(lastSeenId, Limit.of(size + 1));
+
+        boolean hasNext = users.size() > size;
+        List<User> content = hasNext ? users.subList(0, size) : users;
+        String next = hasNext ? UserCursor.encode(content.get(content.size() - 1).getUserId()) : null;
+
+        return new UserResponse(content.stream()
+                .map(UserMapper.INSTANCE::userToUserDto)
+                .toList(), next);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<UserDto> consumer) {
+        try (Stream<User> users = userRepository.streamAllByOrderByUserIdAsc()) {
+            users.forEach(user -> {
+                consumer.accept(UserMapper.INSTANCE.userToUserDto(user));
+                // Detach right away, so the persistence context doesn't grow with the table.
+                entityManager.detach(user);
+            });
+        }
+    }
+
+    @Override
+    public boolean delete(Integer userId) {
+        return userRepository.findById(userId)
+                .map(user -> {
+                    userRepository.delete(user);
+                    return true;
+                })
+                .orElse(false);
     }
 
+    // Remote calls only: without a transaction no pooled connection is held while waiting for assets-service.
     @Override
-    public void delete(Integer userId) {
-        userRepository.deleteById(userId);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AssetsResponse getUserAssets(Integer userId, String after) {
+        return assetProjectionService.getUserAssets(userId, after);
     }
 
     @Override
-    public AssetsResponse getUserAssets(Integer userId) {
-        return assetClient.getUserAssets(userId);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UsersAssetsResponse getUsersAssets(Set<Integer> userIds) {
+        return assetClient.getUsersAssets(userIds);
     }
 }
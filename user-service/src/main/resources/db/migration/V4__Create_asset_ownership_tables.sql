@@ -0,0 +1,22 @@
+-- Local, eventually consistent copy of asset ownership, fed by asset change events from assets-service.
+-- Deleted assets are kept as tombstones, so an event delivered late can't bring them back.
+CREATE TABLE asset_ownership
+(
+    asset_id   INT PRIMARY KEY,
+    user_id    INT,
+    name       VARCHAR(255),
+    asset_type VARCHAR(255),
+    status     VARCHAR(255),
+    deleted    BOOLEAN   NOT NULL,
+    event_id   BIGINT,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX asset_ownership_user_id_asset_id_index ON asset_ownership (user_id, asset_id);
+
+-- When the assets of a user were last loaded in full from assets-service.
+CREATE TABLE asset_ownership_sync
+(
+    user_id   INT PRIMARY KEY,
+    synced_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,195 @@
+package com.userservice.controller;
+
+import com.userservice.helper.MockAssetsApiHelper;
+import com.userservice.model.client.response.AssetResponse;
+import com.userservice.model.client.response.AssetsResponse;
+import com.userservice.model.db.AssetOwnershipSync;
+import com.userservice.model.enumtype.AssetChangeType;
+import com.userservice.model.event.AssetChangeEvent;
+import com.userservice.repository.AssetOwnershipRepository;
+import com.userservice.repository.AssetOwnershipSyncRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: the projection is written in its own transactions, like it is in production.
+@SpringBootTest(properties = {"asset-projection.enabled=true", "asset-client.cache.enabled=false"})
+@AutoConfigureMockMvc
+class AssetEventControllerTest {
+
+    private static final int USER_ID = 1;
+    private static final String USER_ASSETS_URL = "/assets/users/" + USER_ID;
+    private static final String EVENT_TOKEN = "test-asset-events-token";
+
+    @RegisterExtension
+    static WireMockExtension MOCK_ASSETS_API = WireMockExtension.newInstance()
+            .options(wireMockConfig().port(8082))
+            .build();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AssetOwnershipRepository assetOwnershipRepository;
+
+    @Autowired
+    private AssetOwnershipSyncRepository assetOwnershipSyncRepository;
+
+    @BeforeEach
+    public void setUp() {
+        assetOwnershipRepository.deleteAll();
+        assetOwnershipSyncRepository.deleteAll();
+        MOCK_ASSETS_API.resetAll();
+    }
+
+    @Test
+    void shouldServeUserAssetsFromProjection_AfterFirstLoad() throws Exception {
+        // given
+        MockAssetsApiHelper.mockSuccessfulGetAssets(MOCK_ASSETS_API, USER_ID);
+        AssetsResponse loaded = getUserAssets();
+
+        // when
+        AssetsResponse projected = getUserAssets();
+
+        // then
+        assertThat(projected).isEqualTo(loaded);
+        assertThat(projected.assets()).extracting(AssetResponse::name).containsExactly("device1");
+        MOCK_ASSETS_API.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo(USER_ASSETS_URL)));
+    }
+
+    @Test
+    void shouldApplyAssetChangeEvents_ToProjectedAssets() throws Exception {
+        // given
+        MockAssetsApiHelper.mockSuccessfulGetAssets(MOCK_ASSETS_API, USER_ID);
+        getUserAssets();
+
+        // when
+        postEvents(List.of(
+                event(1L, AssetChangeType.CREATED, new AssetResponse(2, "device2", "LAPTOP", "IN_USE", USER_ID)),
+                event(2L, AssetChangeType.DELETED, new AssetResponse(1, null, null, null, null))
+        ));
+
+        // then
+        assertThat(getUserAssets().assets()).extracting(AssetResponse::assetId).containsExactly(2);
+        MOCK_ASSETS_API.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo(USER_ASSETS_URL)));
+    }
+
+    @Test
+    void shouldIgnoreAssetChangeEvents_IfOlderThanTheAppliedOne() throws Exception {
+        // given
+        MockAssetsApiHelper.mockSuccessfulGetAssets(MOCK_ASSETS_API, USER_ID);
+        getUserAssets();
+
+        // when
+        postEvents(List.of(event(5L, AssetChangeType.UPDATED, new AssetResponse(1, "renamed", "MONITOR", "IN_USE", USER_ID))));
+        postEvents(List.of(event(3L, AssetChangeType.UPDATED, new AssetResponse(1, "outdated", "MONITOR", "AVAILABLE", USER_ID))));
+
+        // then
+        assertThat(getUserAssets().assets()).extracting(AssetResponse::name).containsExactly("renamed");
+    }
+
+    @Test
+    void shouldCallAssetsService_IfProjectionIsStale() throws Exception {
+        // given
+        MockAssetsApiHelper.mockSuccessfulGetAssets(MOCK_ASSETS_API, USER_ID);
+        getUserAssets();
+        assetOwnershipSyncRepository.save(new AssetOwnershipSync(USER_ID, LocalDateTime.now().minusHours(1)));
+
+        // when
+        getUserAssets();
+
+        // then
+        MOCK_ASSETS_API.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo(USER_ASSETS_URL)));
+    }
+
+    @Test
+    void shouldServeStaleProjection_IfAssetsServiceIsUnavailable() throws Exception {
+        // given
+        MockAssetsApiHelper.mockSuccessfulGetAssets(MOCK_ASSETS_API, USER_ID);
+        getUserAssets();
+        assetOwnershipSyncRepository.save(new AssetOwnershipSync(USER_ID, LocalDateTime.now().minusHours(1)));
+        MOCK_ASSETS_API.stubFor(WireMock.get(USER_ASSETS_URL).willReturn(aResponse().withStatus(500)));
+
+        // when
+        AssetsResponse assets = getUserAssets();
+
+        // then
+        assertThat(assets.assets()).extracting(AssetResponse::name).containsExactly("device1");
+    }
+
+    @Test
+    void shouldRejectAssetChangeEvents_IfAssetIdIsMissing() throws Exception {
+        // when
+        mockMvc.perform(post("/internal/asset-events")
+                        .header(AssetEventController.TOKEN_HEADER, EVENT_TOKEN)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                event(1L, AssetChangeType.CREATED, new AssetResponse(null, "device", "LAPTOP", "IN_USE", USER_ID)))))
+                        .contentType(MediaType.APPLICATION_JSON))
+                // then
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].code").value("INVALID_ASSET_EVENT"));
+        assertThat(assetOwnershipRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldRejectAssetChangeEvents_IfTokenIsMissingOrWrong() throws Exception {
+        // given
+        String events = objectMapper.writeValueAsString(List.of(
+                event(Long.MAX_VALUE, AssetChangeType.CREATED, new AssetResponse(2, "forged", "LAPTOP", "IN_USE", USER_ID))));
+
+        // when
+        mockMvc.perform(post("/internal/asset-events")
+                        .content(events)
+                        .contentType(MediaType.APPLICATION_JSON))
+                // then
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.errors[0].code").value("INVALID_EVENT_TOKEN"));
+        mockMvc.perform(post("/internal/asset-events")
+                        .header(AssetEventController.TOKEN_HEADER, "forged")
+                        .content(events)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized());
+        assertThat(assetOwnershipRepository.count()).isZero();
+    }
+
+    private AssetsResponse getUserAssets() throws Exception {
+        String content = mockMvc.perform(get("/users/{id}/assets", USER_ID))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(content, AssetsResponse.class);
+    }
+
+    private void postEvents(List<AssetChangeEvent> events) throws Exception {
+        mockMvc.perform(post("/internal/asset-events")
+                        .header(AssetEventController.TOKEN_HEADER, EVENT_TOKEN)
+                        .content(objectMapper.writeValueAsString(events))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+    }
+
+    private static AssetChangeEvent event(Long eventId, AssetChangeType type, AssetResponse asset) {
+        return new AssetChangeEvent(eventId, type, asset, LocalDateTime.now());
+    }
+}
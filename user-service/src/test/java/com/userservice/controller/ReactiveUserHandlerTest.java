@@ -0,0 +1,200 @@
+package com.userservice.controller;
+
+import com.userservice.config.AssetClientConfiguration;
+import com.userservice.helper.MockAssetsApiHelper;
+import com.userservice.helper.ReactiveApiServer;
+import com.userservice.model.db.AssetOwnership;
+import com.userservice.model.db.AssetOwnershipSync;
+import com.userservice.model.db.User;
+import com.userservice.repository.AssetOwnershipRepository;
+import com.userservice.repository.AssetOwnershipSyncRepository;
+import com.userservice.repository.UserRepository;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static org.assertj.core.api.Assertions.assertThat;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+// Not @Transactional: the reactive API reads over its own R2DBC connections, which only see committed rows.
+@SpringBootTest(properties = {"reactive-api.enabled=true", "asset-projection.enabled=true"})
+class ReactiveUserHandlerTest {
+
+    private static final int USER_ID = 1;
+    private static final String USER_ASSETS_URL = "/assets/users/" + USER_ID;
+
+    @RegisterExtension
+    static WireMockExtension MOCK_ASSETS_API = WireMockExtension.newInstance()
+            .options(wireMockConfig().port(8082))
+            .build();
+
+    @Autowired
+    private ReactiveApiServer reactiveApiServer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AssetOwnershipRepository assetOwnershipRepository;
+
+    @Autowired
+    private AssetOwnershipSyncRepository assetOwnershipSyncRepository;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setUp() {
+        webTestClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + reactiveApiServer.getPort())
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userRepository.deleteAll();
+        assetOwnershipRepository.deleteAll();
+        assetOwnershipSyncRepository.deleteAll();
+        circuitBreaker().reset();
+    }
+
+    @Test
+    void shouldReturnUser_ReadOverR2dbc() {
+        // given
+        User user = userRepository.save(User.builder().name("reactive").email("reactive@test.com").build());
+
+        // when
+        webTestClient.get().uri("/users/{id}", user.getUserId())
+                .exchange()
+                // then
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.userId").isEqualTo(user.getUserId())
+                .jsonPath("$.name").isEqualTo("reactive")
+                .jsonPath("$.email").isEqualTo("reactive@test.com");
+    }
+
+    @Test
+    void shouldReturnUserAssets_FromAssetsService() {
+        // given
+        MockAssetsApiHelper.mockSuccessfulGetAssets(MOCK_ASSETS_API, USER_ID);
+
+        // when
+        webTestClient.get().uri("/users/{id}/assets", USER_ID)
+                .exchange()
+                // then
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.assets[0].name").isEqualTo("device1");
+        MOCK_ASSETS_API.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo(USER_ASSETS_URL)));
+    }
+
+    @Test
+    void shouldReturnUserAssets_FromFreshProjection() {
+        // given
+        assetOwnershipRepository.save(AssetOwnership.builder()
+                .assetId(7).userId(USER_ID).name("projected").assetType("LAPTOP").status("IN_USE")
+                .updatedAt(LocalDateTime.now())
+                .build());
+        assetOwnershipSyncRepository.save(new AssetOwnershipSync(USER_ID, LocalDateTime.now()));
+
+        // when
+        webTestClient.get().uri("/users/{id}/assets", USER_ID)
+                .exchange()
+                // then
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.assets[0].assetId").isEqualTo(7)
+                .jsonPath("$.assets[0].name").isEqualTo("projected");
+        MOCK_ASSETS_API.verify(0, WireMock.getRequestedFor(WireMock.urlEqualTo(USER_ASSETS_URL)));
+    }
+
+    @Test
+    void shouldReturnNotFound_IfAssetsServiceHasNoAssets() {
+        // given
+        MOCK_ASSETS_API.stubFor(WireMock.get(USER_ASSETS_URL).willReturn(aResponse().withStatus(404)));
+
+        // when
+        webTestClient.get().uri("/users/{id}/assets", USER_ID)
+                .exchange()
+                // then
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void shouldReturnServiceUnavailable_IfAssetsServiceFails() {
+        // given
+        MOCK_ASSETS_API.stubFor(WireMock.get(USER_ASSETS_URL).willReturn(aResponse().withStatus(500)));
+
+        // when
+        webTestClient.get().uri("/users/{id}/assets", USER_ID)
+                .exchange()
+                // then
+                .expectStatus().isEqualTo(503)
+                .expectBody()
+                .jsonPath("$.errors[0].code").isEqualTo("DEPENDENCY_UNAVAILABLE");
+    }
+
+    @Test
+    void shouldReturnBadRequest_IfUserIdIsNotNumeric() {
+        // when
+        webTestClient.get().uri("/users/{id}/assets", "abc")
+                .exchange()
+                // then
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].code").isEqualTo("INVALID_USER_ID");
+        MOCK_ASSETS_API.verify(0, WireMock.getRequestedFor(WireMock.anyUrl()));
+    }
+
+    @Test
+    void shouldPassAssetsServiceClientErrorThrough_WithoutCountingItAsFailure() {
+        // given
+        MOCK_ASSETS_API.stubFor(WireMock.get(WireMock.urlPathEqualTo(USER_ASSETS_URL)).willReturn(aResponse()
+                .withStatus(400)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"errors\":[{\"message\":\"Supplied cursor is malformed.\",\"code\":\"INVALID_CURSOR\"}]}")));
+
+        // when
+        webTestClient.get().uri("/users/{id}/assets", USER_ID)
+                .exchange()
+                // then
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].code").isEqualTo("INVALID_CURSOR");
+        assertThat(circuitBreaker().getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    void shouldNotCallAssetsService_IfCircuitIsOpen() {
+        // given
+        MockAssetsApiHelper.mockSuccessfulGetAssets(MOCK_ASSETS_API, USER_ID);
+        circuitBreaker().transitionToForcedOpenState();
+
+        // when
+        webTestClient.get().uri("/users/{id}/assets", USER_ID)
+                .exchange()
+                // then
+                .expectStatus().isEqualTo(503)
+                .expectBody()
+                .jsonPath("$.errors[0].code").isEqualTo("DEPENDENCY_UNAVAILABLE");
+        MOCK_ASSETS_API.verify(0, WireMock.getRequestedFor(WireMock.urlEqualTo(USER_ASSETS_URL)));
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        return circuitBreakerRegistry.circuitBreaker(AssetClientConfiguration.CLIENT_NAME);
+    }
+}
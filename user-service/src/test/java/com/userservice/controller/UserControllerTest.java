@@ -3,13 +3,18 @@ package com.userservice.controller;
 import com.userservice.helper.MockAssetsApiHelper;
 import com.userservice.model.client.response.AssetResponse;
 import com.userservice.model.client.response.AssetsResponse;
+import com.userservice.model.client.response.UsersAssetsResponse;
 import com.userservice.model.db.User;
 import com.userservice.model.dto.UserDto;
+import com.userservice.model.enumtype.AssetsLookupStatus;
 import com.userservice.model.response.UserResponse;
+import com.userservice.model.response.UserWithAssetsResponse;
+import com.userservice.model.response.UsersWithAssetsResponse;
 import com.userservice.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,20 +22,30 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.emptyOrNullString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -49,9 +64,15 @@ class UserControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @Autowired
+    @SpyBean
     private UserRepository userRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     public void setUp() {
         userRepository.deleteAll();
@@ -95,6 +116,114 @@ class UserControllerTest {
         Assertions.assertThat(userResponse.users()).hasSize(2);
     }
 
+    @Test
+    void shouldReturnUsers_PageByPage_WithKeysetCursor() throws Exception {
+        // given
+        List<User> users = userRepository.saveAll(IntStream.range(0, 3)
+                .mapToObj(value -> buildValidUser("user" + value + "@test.email"))
+                .toList());
+
+        // when
+        UserResponse firstPage = objectMapper.readValue(mockMvc.perform(get("/users").param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), UserResponse.class);
+        UserResponse secondPage = objectMapper.readValue(mockMvc.perform(get("/users")
+                        .param("size", "2")
+                        .param("after", firstPage.next()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.next").doesNotExist())
+                .andReturn().getResponse().getContentAsString(), UserResponse.class);
+
+        // then
+        assertThat(firstPage.users()).extracting(UserDto::userId)
+                .containsExactly(users.get(0).getUserId(), users.get(1).getUserId());
+        assertThat(secondPage.users()).extracting(UserDto::userId)
+                .containsExactly(users.get(2).getUserId());
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void shouldReturnUsersPage_IfPageIsRequested() throws Exception {
+        // given
+        userRepository.saveAll(IntStream.range(0, 3)
+                .mapToObj(value -> buildValidUser("user" + value + "@test.email"))
+                .toList());
+
+        // when
+        ResultActions result = mockMvc.perform(get("/users").param("page", "1").param("size", "2"));
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].email", is("user2@test.email")))
+                .andExpect(jsonPath("$.totalElements", is(3)));
+    }
+
+    @Test
+    void shouldReturnAllUsers_OnlyIfExplicitlyRequested() throws Exception {
+        // given
+        userRepository.saveAll(IntStream.range(0, 3)
+                .mapToObj(value -> buildValidUser("user" + value + "@test.email"))
+                .toList());
+
+        // when
+        ResultActions result = mockMvc.perform(get("/users").param("all", "true").param("size", "1"));
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.users", hasSize(3)))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnError_IfListingModesAreCombined() throws Exception {
+        // when
+        ResultActions result = mockMvc.perform(get("/users").param("page", "0").param("includeAssets", "true"));
+
+        // then
+        result.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[*].code", hasItem("CONFLICTING_PARAMETERS")));
+    }
+
+    @Test
+    void shouldReturnError_IfCursorIsMalformed() throws Exception {
+        // when
+        ResultActions result = mockMvc.perform(get("/users").param("after", "not-a-cursor"));
+
+        // then
+        result.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[*].code", hasItem("INVALID_CURSOR")));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldExportAllUsersAsNdjson_InSingleQuery() throws Exception {
+        // given
+        List<User> users = userRepository.saveAll(IntStream.range(0, 25)
+                .mapToObj(value -> buildValidUser("user" + value + "@test.email"))
+                .toList());
+
+        try {
+            // when
+            MvcResult asyncResult = mockMvc.perform(get("/users/export"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            ResultActions result = mockMvc.perform(asyncDispatch(asyncResult));
+
+            // then
+            result.andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+            List<String> lines = result.andReturn().getResponse().getContentAsString().lines().toList();
+            assertThat(lines).hasSize(25);
+            assertThat(objectMapper.readValue(lines.get(0), UserDto.class).userId())
+                    .isEqualTo(users.get(0).getUserId());
+            verify(userRepository, times(1)).streamAllByOrderByUserIdAsc();
+            verify(userRepository, never()).findAll();
+        } finally {
+            userRepository.deleteAll();
+        }
+    }
+
     @Test
     void shouldNotReturnUser_IfDoesNotExist() throws Exception {
         // given
@@ -154,6 +283,89 @@ class UserControllerTest {
         assertThat(userRepository.findAll()).isEmpty();
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldSaveUsersInBatch_AndReportDuplicateAndInvalidItems() throws Exception {
+        try {
+            // given
+            userRepository.save(buildValidUser("existing@test.email"));
+            List<UserDto> users = List.of(
+                    new UserDto(null, "User1", "user1@test.email", null),
+                    new UserDto(null, "User2", "existing@test.email", null),
+                    new UserDto(null, "User3", null, null),
+                    new UserDto(null, "User4", "user1@test.email", null),
+                    new UserDto(null, "User5", "user5@test.email", null));
+
+            // when
+            ResultActions result = mockMvc.perform(post("/users/batch")
+                    .content(objectMapper.writeValueAsString(users))
+                    .contentType(MediaType.APPLICATION_JSON));
+
+            // then
+            result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$.received", is(5)))
+                    .andExpect(jsonPath("$.succeeded", is(2)))
+                    .andExpect(jsonPath("$.failed", is(3)))
+                    .andExpect(jsonPath("$.items[*].status", contains("CREATED", "DUPLICATE_EMAIL", "INVALID", "DUPLICATE_EMAIL", "CREATED")))
+                    .andExpect(jsonPath("$.items[0].userId").isNumber());
+            assertThat(userRepository.findAll()).extracting(User::getEmail)
+                    .containsExactlyInAnyOrder("existing@test.email", "user1@test.email", "user5@test.email");
+        } finally {
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldSaveUsersInBatch_FromCsv_WithOneRevisionPerChunk() throws Exception {
+        try {
+            // given
+            StringBuilder body = new StringBuilder("name,email\n");
+            for (int i = 0; i < 5; i++) {
+                body.append("User").append(i).append(",user").append(i).append("@test.email\n");
+            }
+            Integer revisionsBefore = jdbcTemplate.queryForObject("SELECT count(*) FROM revision_audit", Integer.class);
+
+            // when
+            ResultActions result = mockMvc.perform(post("/users/batch")
+                    .param("chunkSize", "2")
+                    .content(body.toString())
+                    .contentType("text/csv"));
+
+            // then
+            result.andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.succeeded", is(5)))
+                    .andExpect(jsonPath("$.items[4].index", is(4)));
+            assertThat(userRepository.count()).isEqualTo(5);
+            Integer revisionsAfter = jdbcTemplate.queryForObject("SELECT count(*) FROM revision_audit", Integer.class);
+            assertThat(revisionsAfter - revisionsBefore).isEqualTo(3);
+        } finally {
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldDeleteUsersInBatch_AndReportMissingOnes() throws Exception {
+        try {
+            // given
+            List<User> users = userRepository.saveAll(List.of(buildValidUser(), buildValidUser("user2@test.email")));
+
+            // when
+            ResultActions result = mockMvc.perform(post("/users/batch/delete")
+                    .content(objectMapper.writeValueAsString(List.of(users.get(0).getUserId(), NOT_EXISTED_USER_ID)))
+                    .contentType(MediaType.APPLICATION_JSON));
+
+            // then
+            result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$.succeeded", is(1)))
+                    .andExpect(jsonPath("$.items[*].status", contains("DELETED", "NOT_FOUND")));
+            assertThat(userRepository.findAll()).extracting(User::getUserId).containsExactly(users.get(1).getUserId());
+        } finally {
+            userRepository.deleteAll();
+        }
+    }
+
     @Test
     void getUserAssets() throws Exception {
         // given
@@ -178,6 +390,117 @@ class UserControllerTest {
         assertThat(asset.status()).isEqualTo("AVAILABLE");
     }
 
+    @Test
+    void getUserAssets_ServedFromCache_WhileFresh() throws Exception {
+        // given
+        User user = buildValidUser();
+        userRepository.save(user);
+
+        Integer userId = userRepository.findAll().get(0).getUserId();
+        MockAssetsApiHelper.mockSuccessfulGetAssets(MOCK_ASSETS_API, userId);
+
+        // when
+        mockMvc.perform(get("/users/" + userId + "/assets")).andExpect(status().isOk());
+        ResultActions result = mockMvc.perform(get("/users/" + userId + "/assets"));
+
+        // then
+        result.andExpect(status().isOk());
+        MOCK_ASSETS_API.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/assets/users/" + userId)));
+        assertThat(meterRegistry.get("feign.client.cache.requests").tag("result", "hit").counter().count()).isPositive();
+    }
+
+    @Test
+    void getUserAssets_GoesThroughPooledAndGuardedTransport() throws Exception {
+        // given
+        User user = userRepository.save(buildValidUser());
+        MockAssetsApiHelper.mockSuccessfulGetAssets(MOCK_ASSETS_API, user.getUserId());
+
+        // when
+        mockMvc.perform(get("/users/" + user.getUserId() + "/assets")).andExpect(status().isOk());
+
+        // then
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value()).isEqualTo(200);
+        assertThat(meterRegistry.get("resilience4j.circuitbreaker.calls").tag("name", "assets-service").timers())
+                .anySatisfy(timer -> assertThat(timer.count()).isPositive());
+        assertThat(meterRegistry.get("resilience4j.bulkhead.max.allowed.concurrent.calls").tag("name", "assets-service").gauge().value())
+                .isEqualTo(50);
+    }
+
+    @Test
+    void getUsersAssets_InSingleCallToAssetsService() throws Exception {
+        // given
+        MockAssetsApiHelper.mockSuccessfulGetUsersAssets(MOCK_ASSETS_API);
+
+        // when
+        ResultActions result = mockMvc.perform(get("/users/assets").param("userIds", "1", "2"));
+
+        // then
+        MOCK_ASSETS_API.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/assets/users"))
+                .withQueryParam("userIds", WireMock.equalTo("1"))
+                .withQueryParam("userIds", WireMock.equalTo("2")));
+
+        UsersAssetsResponse usersAssets = objectMapper.readValue(result.andReturn().getResponse().getContentAsString(), UsersAssetsResponse.class);
+        assertThat(usersAssets.users()).containsOnlyKeys(1, 2);
+        assertThat(usersAssets.users().get(1)).extracting(AssetResponse::name).containsExactly("device1", "device2");
+        assertThat(usersAssets.users().get(2)).isEmpty();
+    }
+
+    @Test
+    void getUsersAssets_ReturnsError_IfTooManyUserIdsAreRequested() throws Exception {
+        // when
+        ResultActions result = mockMvc.perform(get("/users/assets").param("userIds", IntStream.rangeClosed(1, 501)
+                .mapToObj(String::valueOf)
+                .toArray(String[]::new)));
+
+        // then
+        result.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[*].code", hasItem("TOO_MANY_USER_IDS")));
+        MOCK_ASSETS_API.verify(0, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/assets/users")));
+    }
+
+    @Test
+    void getUsersWithAssets_LooksUpAssetsConcurrently() throws Exception {
+        // given
+        List<User> users = userRepository.saveAll(List.of(
+                buildValidUser("user1@test.email"), buildValidUser("user2@test.email"), buildValidUser("user3@test.email")));
+        // 3 x 400ms exceeds the 1s test deadline unless the calls overlap
+        users.forEach(user -> MockAssetsApiHelper.mockDelayedGetAssets(MOCK_ASSETS_API, user.getUserId(), 400));
+
+        // when
+        ResultActions result = mockMvc.perform(get("/users").param("includeAssets", "true"));
+
+        // then
+        UsersWithAssetsResponse response = objectMapper.readValue(result.andReturn().getResponse().getContentAsString(), UsersWithAssetsResponse.class);
+        assertThat(response.partial()).isFalse();
+        assertThat(response.users()).hasSize(3)
+                .allSatisfy(user -> {
+                    assertThat(user.assetsStatus()).isEqualTo(AssetsLookupStatus.OK);
+                    assertThat(user.assets().assets()).isNotEmpty();
+                });
+    }
+
+    @Test
+    void getUsersWithAssets_ReturnsPartialResult_IfLookupMissesDeadline() throws Exception {
+        // given
+        User fast = userRepository.save(buildValidUser("user1@test.email"));
+        User slow = userRepository.save(buildValidUser("user2@test.email"));
+        MockAssetsApiHelper.mockSuccessfulGetAssets(MOCK_ASSETS_API, fast.getUserId());
+        MockAssetsApiHelper.mockDelayedGetAssets(MOCK_ASSETS_API, slow.getUserId(), 3000);
+
+        // when
+        ResultActions result = mockMvc.perform(get("/users").param("includeAssets", "true"));
+
+        // then
+        UsersWithAssetsResponse response = objectMapper.readValue(result.andReturn().getResponse().getContentAsString(), UsersWithAssetsResponse.class);
+        assertThat(response.partial()).isTrue();
+        assertThat(response.users())
+                .extracting(user -> user.user().userId(), UserWithAssetsResponse::assetsStatus)
+                .containsExactly(
+                        Assertions.tuple(fast.getUserId(), AssetsLookupStatus.OK),
+                        Assertions.tuple(slow.getUserId(), AssetsLookupStatus.TIMED_OUT));
+        assertThat(response.users().get(1).assets()).isNull();
+    }
+
     private User buildValidUser() {
         String defaultEmail = "user1@test.email";
         return buildValidUser(defaultEmail);
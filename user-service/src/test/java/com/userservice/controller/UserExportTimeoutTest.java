@@ -0,0 +1,52 @@
+package com.userservice.controller;
+
+import com.userservice.model.dto.UserDto;
+import com.userservice.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+// Runs against a real Tomcat, as MockMvc never fires async timeouts.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.mvc.async.request-timeout=200ms")
+class UserExportTimeoutTest {
+
+    private static final int USERS = 10;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @MockBean
+    private UserService userService;
+
+    @Test
+    void shouldExportAllUsers_EvenIfExportOutlastsAsyncRequestTimeout() {
+        // given
+        // 10 x 50ms is well past the 200ms async request timeout
+        doAnswer(invocation -> {
+            Consumer<UserDto> consumer = invocation.getArgument(0);
+            for (int i = 1; i <= USERS; i++) {
+                Thread.sleep(50);
+                consumer.accept(new UserDto(i, "User" + i, "user" + i + "@test.email", null));
+            }
+            return null;
+        }).when(userService).streamAll(any());
+
+        // when
+        ResponseEntity<String> response = restTemplate.getForEntity("/users/export", String.class);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().lines()).hasSize(USERS);
+    }
+}
@@ -0,0 +1,187 @@
+package com.userservice.helper;
+
+import com.userservice.config.AssetClientCacheProperties;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingFeignClientTest {
+
+    private static final String URL = "http://assets-service/assets/users/1";
+    private static final String ETAG = "\"v1\"";
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private final MutableClock clock = new MutableClock();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final List<Request> sent = new ArrayList<>();
+    private Function<Request, Response> assetsService;
+    private CachingFeignClient client;
+
+    @BeforeEach
+    void setUp() {
+        Client delegate = (request, options) -> {
+            sent.add(request);
+            Response response = assetsService.apply(request);
+            if (response == null) {
+                throw new ConnectException("assets-service is down");
+            }
+            return response;
+        };
+        AssetClientCacheProperties properties = new AssetClientCacheProperties(true, TTL, Duration.ofMinutes(5), 100);
+        client = new CachingFeignClient(delegate, "assets-service", properties, registry, Runnable::run, clock);
+    }
+
+    @Test
+    void shouldServeFreshEntry_WithoutCallingAssetsService() throws IOException {
+        // given
+        assetsService = request -> ok(request, "[1]", ETAG);
+        execute();
+
+        // when
+        clock.advance(TTL);
+        String body = execute();
+
+        // then
+        assertThat(body).isEqualTo("[1]");
+        assertThat(sent).hasSize(1);
+        assertThat(count("hit")).isEqualTo(1);
+        assertThat(count("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRevalidateStaleEntry_WithIfNoneMatch() throws IOException {
+        // given
+        assetsService = request -> ok(request, "[1]", ETAG);
+        execute();
+        clock.advance(TTL.plusSeconds(1));
+        assetsService = request -> Response.builder().status(304).request(request).headers(Map.of()).build();
+
+        // when
+        String stale = execute();
+        String fresh = execute();
+
+        // then
+        assertThat(stale).isEqualTo("[1]");
+        assertThat(fresh).isEqualTo("[1]");
+        assertThat(sent).hasSize(2);
+        assertThat(sent.get(1).headers().get("If-None-Match")).containsExactly(ETAG);
+        assertThat(count("stale")).isEqualTo(1);
+        assertThat(count("revalidated")).isEqualTo(1);
+        assertThat(count("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReplaceStaleEntry_IfChanged() throws IOException {
+        // given
+        assetsService = request -> ok(request, "[1]", ETAG);
+        execute();
+        clock.advance(TTL.plusSeconds(1));
+        assetsService = request -> ok(request, "[1,2]", "\"v2\"");
+
+        // when
+        String stale = execute();
+        String fresh = execute();
+
+        // then
+        assertThat(stale).isEqualTo("[1]");
+        assertThat(fresh).isEqualTo("[1,2]");
+        assertThat(sent).hasSize(2);
+    }
+
+    @Test
+    void shouldKeepServingStaleEntry_IfAssetsServiceIsDown() throws IOException {
+        // given
+        assetsService = request -> ok(request, "[1]", ETAG);
+        execute();
+        clock.advance(TTL.plusSeconds(1));
+        assetsService = request -> null;
+
+        // when
+        String first = execute();
+        String second = execute();
+
+        // then
+        assertThat(first).isEqualTo("[1]");
+        assertThat(second).isEqualTo("[1]");
+        assertThat(registry.get("feign.client.cache.revalidation.failures").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotCacheResponses_WithoutEtag() throws IOException {
+        // given
+        assetsService = request -> ok(request, "[1]", null);
+
+        // when
+        execute();
+        execute();
+
+        // then
+        assertThat(sent).hasSize(2);
+        assertThat(count("miss")).isEqualTo(2);
+    }
+
+    private String execute() throws IOException {
+        Request request = Request.create(Request.HttpMethod.GET, URL, Map.of(), null, StandardCharsets.UTF_8, null);
+        try (Response response = client.execute(request, new Request.Options())) {
+            return Util.toString(response.body().asReader(StandardCharsets.UTF_8));
+        }
+    }
+
+    private double count(String result) {
+        return registry.get("feign.client.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static Response ok(Request request, String body, String etag) {
+        Map<String, Collection<String>> headers = etag == null ? Map.of() : Map.of("ETag", List.of(etag));
+        return Response.builder()
+                .status(200)
+                .request(request)
+                .headers(headers)
+                .body(body, StandardCharsets.UTF_8)
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.userservice.helper;
+
+import com.userservice.client.AssetClient;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Without a fixed url, AssetClient calls go through the load balancer to the discovered instances.
+@SpringBootTest(properties = {"spring.cloud.openfeign.client.config.assets-service.url=", "asset-client.cache.enabled=false"})
+class LatencyAwareLoadBalancerTest {
+
+    private static final int USER_ID = 1;
+
+    @RegisterExtension
+    static WireMockExtension FAST_INSTANCE = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @RegisterExtension
+    static WireMockExtension SLOW_INSTANCE = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @DynamicPropertySource
+    static void assetsServiceInstances(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.discovery.client.simple.instances.assets-service[0].uri",
+                () -> "http://localhost:" + FAST_INSTANCE.getPort());
+        registry.add("spring.cloud.discovery.client.simple.instances.assets-service[1].uri",
+                () -> "http://localhost:" + SLOW_INSTANCE.getPort());
+    }
+
+    @Autowired
+    private AssetClient assetClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldSendMostCalls_ToTheFasterInstance() {
+        // given
+        MockAssetsApiHelper.mockSuccessfulGetAssets(FAST_INSTANCE, USER_ID);
+        MockAssetsApiHelper.mockDelayedGetAssets(SLOW_INSTANCE, USER_ID, 300);
+
+        // when
+        for (int i = 0; i < 40; i++) {
+            assetClient.getUserAssets(USER_ID, null);
+        }
+
+        // then
+        int slowCalls = SLOW_INSTANCE.countRequestsMatching(WireMock.getRequestedFor(WireMock.urlEqualTo("/assets/users/" + USER_ID)).build()).getCount();
+        assertThat(slowCalls).isBetween(0, 4);
+        assertThat(meterRegistry.get("loadbalancer.instance.score").tag("service", "assets-service").gauges())
+                .hasSize(2)
+                .allSatisfy(gauge -> assertThat(gauge.value()).isPositive());
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Component;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpHeaders.ETAG;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
@@ -13,6 +14,8 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 public class MockAssetsApiHelper {
 
     private static final String USER_ASSETS_URL = "/assets/users/%s";
+    private static final String USERS_ASSETS_URL = "/assets/users";
+    public static final String USER_ASSETS_ETAG = "\"0123456789abcdef\"";
 
     public static void mockSuccessfulGetAssets(WireMockExtension mockService, int userId) {
         mockService.stubFor(WireMock.get(String.format(USER_ASSETS_URL, userId))
@@ -20,6 +23,37 @@ public class MockAssetsApiHelper {
                         .withStatus(OK.value())
                         .withBodyFile("assets-service/get-user-assets.json")
                         .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withHeader(ETAG, USER_ASSETS_ETAG)
+                ));
+    }
+
+    public static void mockDelayedGetAssets(WireMockExtension mockService, int userId, int delayMillis) {
+        mockService.stubFor(WireMock.get(String.format(USER_ASSETS_URL, userId))
+                .willReturn(aResponse()
+                        .withStatus(OK.value())
+                        .withFixedDelay(delayMillis)
+                        .withBodyFile("assets-service/get-user-assets.json")
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                ));
+    }
+
+    // Answers for every user id, so load tests don't need one stub per user.
+    public static void mockDelayedGetAnyUserAssets(WireMockExtension mockService, int delayMillis) {
+        mockService.stubFor(WireMock.get(WireMock.urlPathMatching(String.format(USER_ASSETS_URL, "\\d+")))
+                .willReturn(aResponse()
+                        .withStatus(OK.value())
+                        .withFixedDelay(delayMillis)
+                        .withBodyFile("assets-service/get-user-assets.json")
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                ));
+    }
+
+    public static void mockSuccessfulGetUsersAssets(WireMockExtension mockService) {
+        mockService.stubFor(WireMock.get(WireMock.urlPathEqualTo(USERS_ASSETS_URL))
+                .willReturn(aResponse()
+                        .withStatus(OK.value())
+                        .withBodyFile("assets-service/get-users-assets.json")
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
                 ));
     }
 }
@@ -0,0 +1,161 @@
+package com.userservice.helper;
+
+import com.userservice.exception.DependencyUnavailableException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientFeignClientTest {
+
+    private static final Request REQUEST = Request.create(Request.HttpMethod.GET, "http://assets-service/assets/users/1",
+            Map.of(), null, StandardCharsets.UTF_8, null);
+
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.of("assets-service", CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .build());
+    private final Bulkhead bulkhead = Bulkhead.of("assets-service", BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+
+    @Test
+    void shouldOpenCircuit_AfterServerErrors_AndStopCallingDependency() throws IOException {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        ResilientFeignClient client = new ResilientFeignClient((request, options) -> {
+            calls.incrementAndGet();
+            return response(request, 503);
+        }, "assets-service", bulkhead, circuitBreaker);
+        for (int i = 0; i < 4; i++) {
+            client.execute(REQUEST, new Request.Options()).close();
+        }
+
+        // when / then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> client.execute(REQUEST, new Request.Options()))
+                .isInstanceOf(DependencyUnavailableException.class);
+        assertThat(calls).hasValue(4);
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordIoErrors_AsFailures() {
+        // given
+        ResilientFeignClient client = new ResilientFeignClient((request, options) -> {
+            throw new IOException("Connection reset");
+        }, "assets-service", bulkhead, circuitBreaker);
+
+        // when
+        assertThatThrownBy(() -> client.execute(REQUEST, new Request.Options())).isInstanceOf(IOException.class);
+
+        // then
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectCall_IfBulkheadIsFull() throws Exception {
+        // given
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Client slowDependency = (request, options) -> {
+            inFlight.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return response(request, 200);
+        };
+        ResilientFeignClient client = new ResilientFeignClient(slowDependency, "assets-service", bulkhead, circuitBreaker);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Response> first = executor.submit(() -> client.execute(REQUEST, new Request.Options()));
+            inFlight.await(5, TimeUnit.SECONDS);
+
+            // when / then
+            assertThatThrownBy(() -> client.execute(REQUEST, new Request.Options()))
+                    .isInstanceOf(DependencyUnavailableException.class);
+            release.countDown();
+            assertThat(first.get().status()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void shouldHoldBulkhead_AndTimeCall_UntilResponseBodyIsClosed() throws Exception {
+        // given
+        CircuitBreaker slowCallBreaker = CircuitBreaker.of("assets-service", CircuitBreakerConfig.custom()
+                .slowCallDurationThreshold(Duration.ofMillis(50))
+                .build());
+        ResilientFeignClient client = new ResilientFeignClient((request, options) -> response(request, 200),
+                "assets-service", bulkhead, slowCallBreaker);
+        Response response = client.execute(REQUEST, new Request.Options());
+
+        // when
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isZero();
+        assertThat(slowCallBreaker.getMetrics().getNumberOfBufferedCalls()).isZero();
+        Thread.sleep(100);
+        response.close();
+
+        // then
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+        assertThat(slowCallBreaker.getMetrics().getNumberOfSlowSuccessfulCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordFailedBodyRead_AsFailure() throws IOException {
+        // given
+        ResilientFeignClient client = new ResilientFeignClient((request, options) -> Response.builder()
+                .status(200)
+                .request(request)
+                .headers(Map.of())
+                .body(new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Connection reset");
+                    }
+                }, null)
+                .build(), "assets-service", bulkhead, circuitBreaker);
+        Response response = client.execute(REQUEST, new Request.Options());
+
+        // when
+        assertThatThrownBy(() -> response.body().asInputStream().read()).isInstanceOf(IOException.class);
+        response.close();
+
+        // then
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    private static Response response(Request request, int status) {
+        return Response.builder()
+                .status(status)
+                .request(request)
+                .headers(Map.of())
+                .body(new byte[0])
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.userservice.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+// Closed-loop load shared by the opt-in comparison tests: every client sends its next request as soon as the
+// previous one was answered.
+class LoadGenerator {
+
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+
+    LoadGenerator(int concurrency, Duration warmup, Duration duration) {
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    // urlForRequest gets a running request number and returns the URL to GET.
+    Result run(IntFunction<String> urlForRequest) {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                int first = worker;
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    for (int i = first; System.nanoTime() < end; i++) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(urlForRequest.apply(i))).build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (sent >= measureFrom) {
+                            if (count == latencies.length) {
+                                latencies = Arrays.copyOf(latencies, count * 2);
+                            }
+                            latencies[count++] = System.nanoTime() - sent;
+                        }
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = workers.stream()
+                .map(LoadGenerator::join)
+                .flatMapToLong(Arrays::stream)
+                .sorted()
+                .toArray();
+        return new Result(all.length, all.length / (double) duration.toSeconds(),
+                percentile(all, 0.50), percentile(all, 0.99), errors.get());
+    }
+
+    private static long[] join(Future<long[]> worker) {
+        try {
+            return worker.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1_000_000.0;
+    }
+
+    record Result(long requests, double throughput, double p50, double p99, long errors) {
+
+        static final String HEADER = "mode        requests/s     p50 ms     p99 ms     errors";
+
+        String format(String mode) {
+            return String.format("%-10s %12.0f %10.1f %10.1f %10d", mode, throughput, p50, p99, errors);
+        }
+    }
+}
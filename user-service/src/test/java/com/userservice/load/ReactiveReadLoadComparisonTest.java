@@ -0,0 +1,105 @@
+package com.userservice.load;
+
+import com.userservice.UserServiceApplication;
+import com.userservice.helper.MockAssetsApiHelper;
+import com.userservice.helper.ReactiveApiServer;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Throughput and latency of GET /users/{id}/assets on the servlet UserController versus the reactive read API
+// (ReactiveApiConfiguration), both served by one application against a WireMock assets-service that answers after
+// a fixed delay. Opt-in, as it takes a while:
+//   mvn -pl user-service test -Dtest=ReactiveReadLoadComparisonTest -Dload-comparison=true \
+//       [-Dload-comparison.concurrency=400 -Dload-comparison.backend-latency=50 -Dload-comparison.duration=15]
+// Results are printed and written to target/reactive-load-comparison.txt.
+@EnabledIfSystemProperty(named = "load-comparison", matches = "true")
+class ReactiveReadLoadComparisonTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load-comparison.concurrency", 400);
+    private static final int BACKEND_LATENCY_MILLIS = Integer.getInteger("load-comparison.backend-latency", 50);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("load-comparison.warmup", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load-comparison.duration", 15));
+    private static final int USERS = 1000;
+
+    // Delays are served asynchronously, so the stub itself does not cap the concurrency.
+    @RegisterExtension
+    static WireMockExtension MOCK_ASSETS_API = WireMockExtension.newInstance()
+            .options(wireMockConfig()
+                    .dynamicPort()
+                    .containerThreads(400)
+                    .jettyAcceptQueueSize(1000)
+                    .asynchronousResponseEnabled(true)
+                    .asynchronousResponseThreads(50)
+                    .disableRequestJournal())
+            .build();
+
+    @Test
+    void compareThroughputAndLatency() throws Exception {
+        MockAssetsApiHelper.mockDelayedGetAnyUserAssets(MOCK_ASSETS_API, BACKEND_LATENCY_MILLIS);
+        String assetsServiceUrl = "http://localhost:" + MOCK_ASSETS_API.getPort();
+        // Passed as command line arguments, so they take precedence over config/application.yml of the tests.
+        String[] args = {
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:reactiveLoadComparison;DB_CLOSE_DELAY=-1",
+                "--reactive-api.enabled=true",
+                "--reactive-api.r2dbc.url=r2dbc:h2:mem:///reactiveLoadComparison;DB_CLOSE_DELAY=-1",
+                "--spring.cloud.openfeign.client.config.assets-service.url=" + assetsServiceUrl,
+                "--spring.cloud.discovery.client.simple.instances.assets-service[0].uri=" + assetsServiceUrl,
+                // Measure the request handling model, not the cache or the guards in front of assets-service.
+                "--asset-client.cache.enabled=false",
+                "--resilience4j.bulkhead.instances.assets-service.max-concurrent-calls=100000",
+                "--resilience4j.circuitbreaker.instances.assets-service.failure-rate-threshold=100",
+                "--resilience4j.circuitbreaker.instances.assets-service.slow-call-rate-threshold=100",
+                "--resilience4j.circuitbreaker.instances.assets-service.slow-call-duration-threshold=1m",
+                "--spring.cloud.openfeign.httpclient.max-connections=5000",
+                "--spring.cloud.openfeign.httpclient.max-connections-per-route=5000",
+                "--management.tracing.enabled=false",
+                "--logging.level.root=warn"
+        };
+
+        LoadGenerator load = new LoadGenerator(CONCURRENCY, WARMUP, DURATION);
+        LoadGenerator.Result servlet;
+        LoadGenerator.Result reactive;
+        long servletThreads;
+        long reactiveThreads;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(UserServiceApplication.class).run(args)) {
+            String servletUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String reactiveUrl = "http://localhost:" + context.getBean(ReactiveApiServer.class).getPort();
+            servlet = load.run(i -> servletUrl + "/users/" + (i % USERS + 1) + "/assets");
+            servletThreads = countThreads("http-nio-");
+            reactive = load.run(i -> reactiveUrl + "/users/" + (i % USERS + 1) + "/assets");
+            reactiveThreads = countThreads("reactor-http-");
+        }
+
+        String report = String.format("""
+                        GET /users/{id}/assets, %d concurrent clients, assets-service latency %d ms, %d s measured
+                        %s
+                        %s
+                        %s
+                        request threads: servlet %d (Tomcat), reactive %d (Reactor Netty event loops, shared with WebClient)
+                        """, CONCURRENCY, BACKEND_LATENCY_MILLIS, DURATION.toSeconds(), LoadGenerator.Result.HEADER,
+                servlet.format("servlet"), reactive.format("reactive"), servletThreads, reactiveThreads);
+        System.out.println(report);
+        Files.writeString(Path.of("target/reactive-load-comparison.txt"), report);
+
+        assertThat(servlet.requests()).isPositive();
+        assertThat(reactive.requests()).isPositive();
+    }
+
+    private static long countThreads(String namePrefix) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith(namePrefix))
+                .count();
+    }
+}
@@ -0,0 +1,114 @@
+package com.userservice.load;
+
+import com.sun.net.httpserver.HttpServer;
+import com.userservice.UserServiceApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Throughput and latency of GET /users/{id}/assets with platform versus virtual request threads. assets-service is
+// replaced by a stub answering after a fixed delay, so the work is I/O bound like it is in production.
+// Opt-in, as it takes a while:
+//   mvn -pl user-service test -Dtest=ThreadModeLoadComparisonTest -Dload-comparison=true \
+//       [-Dload-comparison.concurrency=400 -Dload-comparison.backend-latency=50 -Dload-comparison.duration=15]
+// Results are printed and written to target/load-comparison.txt.
+@EnabledIfSystemProperty(named = "load-comparison", matches = "true")
+class ThreadModeLoadComparisonTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load-comparison.concurrency", 400);
+    private static final Duration BACKEND_LATENCY = Duration.ofMillis(Integer.getInteger("load-comparison.backend-latency", 50));
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("load-comparison.warmup", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load-comparison.duration", 15));
+    private static final int USERS = 1000;
+
+    private static HttpServer assetsService;
+
+    @BeforeAll
+    static void startAssetsService() throws IOException {
+        // The JDK server closes keep-alive connections beyond 200 idle ones, which would make the pooled
+        // connections of the virtual-thread run fail with NoHttpResponseException.
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "100000");
+        byte[] body = Files.readAllBytes(Path.of("src/test/resources/__files/assets-service/get-user-assets.json"));
+        assetsService = HttpServer.create(new InetSocketAddress("localhost", 0), 1000);
+        assetsService.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        assetsService.createContext("/assets/users/", exchange -> {
+            try {
+                Thread.sleep(BACKEND_LATENCY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        assetsService.start();
+    }
+
+    @AfterAll
+    static void stopAssetsService() {
+        assetsService.stop(0);
+    }
+
+    @Test
+    void compareThroughputAndLatency() throws Exception {
+        LoadGenerator.Result platform = run(false);
+        LoadGenerator.Result virtual = run(true);
+
+        String report = String.format("""
+                        GET /users/{id}/assets, %d concurrent clients, assets-service latency %d ms, %d s measured
+                        %s
+                        %s
+                        %s
+                        """, CONCURRENCY, BACKEND_LATENCY.toMillis(), DURATION.toSeconds(), LoadGenerator.Result.HEADER,
+                platform.format("platform"), virtual.format("virtual"));
+        System.out.println(report);
+        Files.writeString(Path.of("target/load-comparison.txt"), report);
+
+        assertThat(platform.requests()).isPositive();
+        assertThat(virtual.requests()).isPositive();
+    }
+
+    private LoadGenerator.Result run(boolean virtualThreads) throws Exception {
+        // Passed as command line arguments, so they take precedence over config/application.yml of the tests.
+        String[] args = {
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadComparison" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                "--spring.cloud.openfeign.client.config.assets-service.url=http://localhost:" + assetsService.getAddress().getPort(),
+                // Measure the thread model, not the cache or the guards in front of assets-service.
+                "--asset-client.cache.enabled=false",
+                "--resilience4j.bulkhead.instances.assets-service.max-concurrent-calls=100000",
+                "--resilience4j.circuitbreaker.instances.assets-service.failure-rate-threshold=100",
+                "--resilience4j.circuitbreaker.instances.assets-service.slow-call-rate-threshold=100",
+                "--resilience4j.circuitbreaker.instances.assets-service.slow-call-duration-threshold=1m",
+                "--spring.cloud.openfeign.httpclient.max-connections=5000",
+                "--spring.cloud.openfeign.httpclient.max-connections-per-route=5000",
+                "--management.tracing.enabled=false",
+                "--logging.level.root=warn"
+        };
+        SpringApplicationBuilder application = new SpringApplicationBuilder(UserServiceApplication.class);
+        if (virtualThreads) {
+            application.profiles("virtual-threads");
+        }
+
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            return new LoadGenerator(CONCURRENCY, WARMUP, DURATION).run(i -> baseUrl + "/users/" + (i % USERS + 1) + "/assets");
+        }
+    }
+}